@@ -1,13 +1,19 @@
 package com.operationly.usermanagement;
 
+import com.operationly.usermanagement.config.NativeRuntimeHints;
+import com.operationly.usermanagement.startup.StartupStepRecorder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class UserManagementApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(UserManagementApplication.class, args);
+		SpringApplication application = new SpringApplication(UserManagementApplication.class);
+		application.addInitializers(new StartupStepRecorder());
+		application.run(args);
 	}
 
 }
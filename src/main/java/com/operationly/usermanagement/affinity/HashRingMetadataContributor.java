@@ -0,0 +1,46 @@
+package com.operationly.usermanagement.affinity;
+
+import com.operationly.usermanagement.affinity.client.HashRing;
+import com.operationly.usermanagement.config.AffinityProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adds this instance's {@link HashRing} tokens to its Eureka metadata before the instance registers,
+ * so callers can route each user to the instance caching it. The tokens derive from the instance ID
+ * and survive restarts. Routing lives in the callers, e.g. the gateway, which build the same
+ * {@link HashRing} from the registry with the affinity-client artifact; this service only publishes
+ * its tokens.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HashRingMetadataContributor implements BeanPostProcessor {
+
+    private final ObjectProvider<AffinityProperties> properties;
+    /** The instance config is recreated on every refresh; the tokens do not change, so log them once. */
+    private final AtomicBoolean logged = new AtomicBoolean();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof EurekaInstanceConfigBean instanceConfig) {
+            AffinityProperties affinity = properties.getObject();
+            if (affinity.isEnabled()) {
+                String instanceId = instanceConfig.getInstanceId() != null ? instanceConfig.getInstanceId()
+                        : instanceConfig.getHostname() + ":" + instanceConfig.getNonSecurePort();
+                instanceConfig.getMetadataMap().put(HashRing.TOKENS_METADATA_KEY,
+                        HashRing.encodeTokens(HashRing.tokensFor(instanceId, affinity.getTokens())));
+                if (logged.compareAndSet(false, true)) {
+                    log.info("Publishing {} hash ring tokens for instance {}", affinity.getTokens(), instanceId);
+                }
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,119 @@
+package com.operationly.usermanagement.affinity.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Picks the instance owning a routing key on the {@link HashRing} built from the instances' Eureka
+ * metadata, for clients such as the gateway. The ring is rebuilt only when the instance list
+ * changes. Instances that publish no tokens, e.g. older releases, get tokens derived from their
+ * instance ID, so a mixed fleet still hashes consistently.
+ * <p>
+ * Once the registry drops an instance, its keys move to the next owners on the ring and every
+ * other key stays put. Before that, {@link #candidates} gives the order to retry in.
+ */
+@Slf4j
+public class ConsistentHashInstanceSelector {
+
+    private final int defaultTokens;
+    private volatile Snapshot snapshot = new Snapshot(List.of(), HashRing.of(Map.of()), Map.of());
+
+    public ConsistentHashInstanceSelector() {
+        this(HashRing.DEFAULT_TOKENS);
+    }
+
+    /**
+     * @param defaultTokens Tokens assumed for instances that publish none
+     */
+    public ConsistentHashInstanceSelector(int defaultTokens) {
+        this.defaultTokens = defaultTokens;
+    }
+
+    /**
+     * Selects the instance owning a key.
+     *
+     * @param instances The instances currently registered
+     * @param key       The routing key, e.g. a WorkOS user ID
+     * @return The owning instance, or null if there are no instances
+     */
+    public ServiceInstance select(List<ServiceInstance> instances, String key) {
+        List<ServiceInstance> candidates = candidates(instances, key);
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    /**
+     * Orders the instances by how they take over a key: its owner first, then the instance that
+     * would own it if the owner left, and so on.
+     *
+     * @param instances The instances currently registered
+     * @param key       The routing key
+     * @return The instances in failover order
+     */
+    public List<ServiceInstance> candidates(List<ServiceInstance> instances, String key) {
+        Snapshot current = snapshotFor(instances);
+        List<ServiceInstance> ordered = new ArrayList<>(instances.size());
+        for (String instanceId : current.ring().owners(key)) {
+            ordered.add(current.byId().get(instanceId));
+        }
+        return ordered;
+    }
+
+    private Snapshot snapshotFor(List<ServiceInstance> instances) {
+        Snapshot current = snapshot;
+        if (current.matches(instances)) {
+            return current;
+        }
+        Map<String, long[]> tokens = new HashMap<>();
+        Map<String, ServiceInstance> byId = new HashMap<>();
+        for (ServiceInstance instance : instances) {
+            String instanceId = instanceId(instance);
+            byId.put(instanceId, instance);
+            tokens.put(instanceId, tokensOf(instance, instanceId));
+        }
+        Snapshot rebuilt = new Snapshot(List.copyOf(instances), HashRing.of(tokens), byId);
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private long[] tokensOf(ServiceInstance instance, String instanceId) {
+        String published = instance.getMetadata() != null
+                ? instance.getMetadata().get(HashRing.TOKENS_METADATA_KEY) : null;
+        if (published != null && !published.isBlank()) {
+            try {
+                return HashRing.decodeTokens(published);
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed hash ring tokens of instance {}", instanceId);
+            }
+        }
+        return HashRing.tokensFor(instanceId, defaultTokens);
+    }
+
+    private static String instanceId(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private record Snapshot(List<ServiceInstance> instances, HashRing ring, Map<String, ServiceInstance> byId) {
+
+        boolean matches(List<ServiceInstance> other) {
+            if (instances.size() != other.size()) {
+                return false;
+            }
+            for (int i = 0; i < instances.size(); i++) {
+                ServiceInstance mine = instances.get(i);
+                ServiceInstance theirs = other.get(i);
+                if (!Objects.equals(instanceId(mine), instanceId(theirs))
+                        || !Objects.equals(mine.getMetadata(), theirs.getMetadata())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.operationly.usermanagement.affinity.client;
+
+import com.operationly.usermanagement.util.Hash64;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Immutable consistent-hash ring. Each instance owns the arcs ending at its tokens; a key belongs to
+ * the instance holding the first token at or after the key's hash, wrapping around. When an instance
+ * leaves, only the keys it owned move, each to the instance owning the next token, so every other
+ * instance keeps its share of the users and their cached state.
+ * <p>
+ * Instances publish their tokens in their Eureka metadata under {@link #TOKENS_METADATA_KEY}. Routing
+ * clients such as the gateway use this class from the affinity-client artifact: they decode the
+ * tokens, hash keys with {@link Hash64} and resolve owners with {@link #owner} and {@link #owners}, so
+ * every client builds the same ring from the same registry view.
+ */
+public final class HashRing {
+
+    public static final String TOKENS_METADATA_KEY = "hash-ring-tokens";
+    public static final int DEFAULT_TOKENS = 64;
+
+    private final long[] tokens;
+    private final String[] owners;
+    private final int instances;
+
+    private HashRing(long[] tokens, String[] owners, int instances) {
+        this.tokens = tokens;
+        this.owners = owners;
+        this.instances = instances;
+    }
+
+    /**
+     * Builds a ring from each instance's tokens.
+     *
+     * @param tokensByInstance Tokens keyed by instance ID
+     * @return The ring
+     */
+    public static HashRing of(Map<String, long[]> tokensByInstance) {
+        List<Token> all = new ArrayList<>();
+        tokensByInstance.forEach((instanceId, instanceTokens) -> {
+            for (long token : instanceTokens) {
+                all.add(new Token(token, instanceId));
+            }
+        });
+        // Equal tokens are ordered by instance ID so that every client resolves them alike
+        all.sort(Comparator.comparingLong(Token::value).thenComparing(Token::instanceId));
+        long[] tokens = new long[all.size()];
+        String[] owners = new String[all.size()];
+        for (int i = 0; i < all.size(); i++) {
+            tokens[i] = all.get(i).value();
+            owners[i] = all.get(i).instanceId();
+        }
+        return new HashRing(tokens, owners, (int) Arrays.stream(owners).distinct().count());
+    }
+
+    /**
+     * Finds the instance owning a key.
+     *
+     * @param key The routing key, e.g. a WorkOS user ID
+     * @return The owning instance ID, or null if the ring is empty
+     */
+    public String owner(String key) {
+        return tokens.length == 0 ? null : owners[firstTokenAtOrAfter(Hash64.hash(key))];
+    }
+
+    /**
+     * Lists the instances in the order they take over a key: its owner first, then the owners of the
+     * following tokens, each instance once.
+     *
+     * @param key The routing key
+     * @return Instance IDs, owner first
+     */
+    public List<String> owners(String key) {
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        Set<String> ordered = new LinkedHashSet<>();
+        int start = firstTokenAtOrAfter(Hash64.hash(key));
+        for (int i = 0; i < tokens.length && ordered.size() < instances; i++) {
+            ordered.add(owners[(start + i) % tokens.length]);
+        }
+        return List.copyOf(ordered);
+    }
+
+    /**
+     * Derives an instance's tokens from its ID, so they stay the same across restarts.
+     *
+     * @param instanceId The instance ID
+     * @param count      Number of tokens; an instance's share of keys grows with it
+     * @return The tokens
+     */
+    public static long[] tokensFor(String instanceId, int count) {
+        long[] tokens = new long[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = Hash64.hash(instanceId + '#' + i);
+        }
+        return tokens;
+    }
+
+    /**
+     * Encodes tokens for Eureka metadata as comma-separated unsigned hex.
+     */
+    public static String encodeTokens(long[] tokens) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (long token : tokens) {
+            joiner.add(Long.toHexString(token));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Decodes tokens written by {@link #encodeTokens}.
+     *
+     * @throws NumberFormatException if the value is malformed
+     */
+    public static long[] decodeTokens(String encoded) {
+        String[] parts = encoded.split(",");
+        long[] tokens = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            tokens[i] = Long.parseUnsignedLong(parts[i].trim(), 16);
+        }
+        return tokens;
+    }
+
+    private int firstTokenAtOrAfter(long hash) {
+        int index = Arrays.binarySearch(tokens, hash);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            // binarySearch may land on any of several equal tokens
+            while (index > 0 && tokens[index - 1] == hash) {
+                index--;
+            }
+        }
+        return index == tokens.length ? 0 : index;
+    }
+
+    private record Token(long value, String instanceId) {
+    }
+}
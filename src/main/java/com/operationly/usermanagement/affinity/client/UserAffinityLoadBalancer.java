@@ -0,0 +1,96 @@
+package com.operationly.usermanagement.affinity.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Spring Cloud LoadBalancer strategy for callers of this service, such as the gateway. Requests to
+ * {@code /users/context} and {@code /users/me} carrying an {@code x-workos-user-id} header go to the
+ * instance owning that user on the {@link HashRing}, so each instance caches its own share of users
+ * instead of all of them. A retry of such a request goes to the next instance on the ring. All other
+ * requests are balanced round-robin. Register it through
+ * {@link UserAffinityLoadBalancerConfiguration}.
+ */
+public class UserAffinityLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final List<String> AFFINITY_PATHS = List.of("/api/v1/users/context", "/api/v1/users/me");
+    /** Same as UserConstants.SecurityConstants.HEADER_WORKOS_USER_ID, which is not in the client artifact. */
+    private static final String HEADER_WORKOS_USER_ID = "x-workos-user-id";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier;
+    private final ConsistentHashInstanceSelector selector;
+    private final RoundRobinLoadBalancer roundRobin;
+
+    public UserAffinityLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier,
+                                    String serviceId, ConsistentHashInstanceSelector selector) {
+        this.instanceListSupplier = instanceListSupplier;
+        this.selector = selector;
+        this.roundRobin = new RoundRobinLoadBalancer(instanceListSupplier, serviceId);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        String workosUserId = affinityKey(request);
+        if (workosUserId == null) {
+            return roundRobin.choose(request);
+        }
+        ServiceInstanceListSupplier supplier = instanceListSupplier.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next()
+                .map(instances -> choose(instances, workosUserId, previousInstance(request)));
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances, String workosUserId,
+                                             ServiceInstance previous) {
+        List<ServiceInstance> candidates = selector.candidates(instances, workosUserId);
+        if (candidates.isEmpty()) {
+            return new EmptyResponse();
+        }
+        int next = 0;
+        if (previous != null && candidates.size() > 1) {
+            // Retrying: skip past the instance that just failed
+            for (int i = 0; i < candidates.size(); i++) {
+                if (candidates.get(i).getInstanceId() != null
+                        && candidates.get(i).getInstanceId().equals(previous.getInstanceId())) {
+                    next = (i + 1) % candidates.size();
+                    break;
+                }
+            }
+        }
+        return new DefaultResponse(candidates.get(next));
+    }
+
+    /**
+     * @return The WorkOS user ID of a request to an affinity path, or null
+     */
+    private static String affinityKey(Request<?> request) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+            return null;
+        }
+        RequestData data = context.getClientRequest();
+        String path = data.getUrl() != null ? data.getUrl().getPath() : null;
+        if (path == null || AFFINITY_PATHS.stream().noneMatch(path::endsWith) || data.getHeaders() == null) {
+            return null;
+        }
+        String workosUserId = data.getHeaders().getFirst(HEADER_WORKOS_USER_ID);
+        return workosUserId == null || workosUserId.isEmpty() ? null : workosUserId;
+    }
+
+    private static ServiceInstance previousInstance(Request<?> request) {
+        return request.getContext() instanceof RetryableRequestContext retry ? retry.getPreviousServiceInstance() : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.operationly.usermanagement.affinity.client;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer configuration for clients of user-management, e.g. in the gateway:
+ * {@code @LoadBalancerClient(name = "user-management", configuration = UserAffinityLoadBalancerConfiguration.class)}.
+ * Deliberately not a {@code @Configuration}, so that component scanning does not apply it to every
+ * load-balanced client.
+ */
+public class UserAffinityLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> userAffinityLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory clientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new UserAffinityLoadBalancer(clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, new ConsistentHashInstanceSelector());
+    }
+}
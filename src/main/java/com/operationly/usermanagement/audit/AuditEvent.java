@@ -0,0 +1,21 @@
+package com.operationly.usermanagement.audit;
+
+import com.operationly.usermanagement.entity.Role;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One audit_event row waiting to be written.
+ *
+ * @param changes Changed fields, written as JSON; null when the event carries none
+ */
+public record AuditEvent(AuditEventType type,
+                         UUID organizationId,
+                         Long userId,
+                         String workosUserId,
+                         Role role,
+                         Map<String, Object> changes,
+                         LocalDateTime occurredAt) {
+}
@@ -0,0 +1,209 @@
+package com.operationly.usermanagement.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.AuditProperties;
+import com.operationly.usermanagement.entity.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous, batching writer for the audit_event table. Services hand over events once their
+ * transaction commits, so rolled-back changes are never audited; the events wait in a bounded queue
+ * and are written with multi-row INSERTs, either on a fixed schedule or as soon as a full batch is
+ * queued. Flushes never run on the caller's thread, which may still be bound to the connection of
+ * the transaction that just committed. When the queue is full, a flush is handed to the background
+ * executor and the event that does not fit is dropped and counted. Queued events are flushed on
+ * shutdown.
+ */
+@Component
+@Slf4j
+public class AuditEventAppender {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_event "
+            + "(event_type, organization_id, user_id, workos_user_id, role, changes, occurred_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?::jsonb, ?)";
+    private static final int COLUMNS = 7;
+
+    private final BlockingQueue<AuditEvent> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor flushExecutor;
+    private final int batchSize;
+    private final Counter queuedEvents;
+    private final Counter writtenEvents;
+    private final Counter droppedEvents;
+    private final Counter failedFlushes;
+
+    public AuditEventAppender(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, AuditProperties properties,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                              TaskExecutor flushExecutor,
+                              MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.flushExecutor = flushExecutor;
+        this.batchSize = properties.getBatchSize();
+        this.queuedEvents = meterRegistry.counter("audit.events.queued");
+        this.writtenEvents = meterRegistry.counter("audit.events.written");
+        this.droppedEvents = meterRegistry.counter("audit.events.dropped");
+        this.failedFlushes = meterRegistry.counter("audit.flush.failures");
+        meterRegistry.gauge("audit.events.pending", queue, Collection::size);
+    }
+
+    /**
+     * Records a change once the surrounding transaction commits, or right away outside a transaction.
+     *
+     * @param type           What happened
+     * @param organizationId The organization the change belongs to, if any
+     * @param userId         The user_account id the change is about
+     * @param workosUserId   The WorkOS user ID the change is about
+     * @param role           The membership role involved, if any
+     * @param changes        Changed fields, or null
+     */
+    public void record(AuditEventType type, UUID organizationId, Long userId, String workosUserId, Role role,
+                       Map<String, Object> changes) {
+        AuditEvent event = new AuditEvent(type, organizationId, userId, workosUserId, role, changes,
+                LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(event);
+            }
+        });
+    }
+
+    /**
+     * Queues an event. A full batch hands a flush to the background executor; so does a full queue,
+     * in which case the event is dropped.
+     *
+     * @param event The event to write
+     */
+    public void append(AuditEvent event) {
+        if (!queue.offer(event)) {
+            droppedEvents.increment();
+            log.warn("Audit queue full, dropping {} event for user {}", event.type(), event.workosUserId());
+            scheduleFlush();
+            return;
+        }
+        queuedEvents.increment();
+        if (queue.size() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes all queued events in batches. Only one flush runs at a time. A failed batch is put back
+     * for the next flush as far as the queue has room.
+     */
+    @Scheduled(fixedDelayString = "${operationly.audit.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        } catch (RuntimeException e) {
+            flushScheduled.set(false);
+            log.debug("Could not schedule an audit flush, leaving it to the next tick", e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!queue.isEmpty()) {
+            log.warn("Dropping {} queued audit events at shutdown", queue.size());
+        }
+    }
+
+    private boolean write(List<AuditEvent> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMNS];
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEvent event = batch.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+            int offset = i * COLUMNS;
+            args[offset] = event.type().name();
+            args[offset + 1] = event.organizationId();
+            args[offset + 2] = event.userId();
+            args[offset + 3] = event.workosUserId();
+            args[offset + 4] = event.role() != null ? event.role().name() : null;
+            args[offset + 5] = toJson(event.changes());
+            args[offset + 6] = Timestamp.valueOf(event.occurredAt());
+        }
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            writtenEvents.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.warn("Failed to write {} audit events, keeping them for the next flush", batch.size(), e);
+            for (AuditEvent event : batch) {
+                if (!queue.offer(event)) {
+                    droppedEvents.increment();
+                }
+            }
+            return false;
+        }
+    }
+
+    private String toJson(Map<String, Object> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize audit changes {}", changes.keySet(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.operationly.usermanagement.audit;
+
+public enum AuditEventType {
+    ACCOUNT_CREATED,
+    PROFILE_UPDATED,
+    MEMBERSHIP_ADDED,
+    MEMBERSHIP_ROLE_CHANGED,
+    MEMBERSHIP_REMOVED,
+    ORGANIZATION_CREATED
+}
@@ -0,0 +1,114 @@
+package com.operationly.usermanagement.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient concurrency limiter. It keeps a slow-moving baseline of request latency and a fast one;
+ * while they agree the limit grows by roughly its square root, and once recent latency rises above
+ * the baseline (queueing somewhere downstream, usually the connection pool) the limit shrinks in
+ * proportion. Samples taken while the service is far below its limit are ignored, since they say
+ * nothing about capacity. Each priority may fill only its share of the limit, so low-priority work
+ * is turned away first as the limit comes down.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double latencyTolerance;
+    private final double normalShare;
+    private final double lowShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                      double latencyTolerance, double normalShare, double lowShare) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.latencyTolerance = latencyTolerance;
+        this.normalShare = normalShare;
+        this.lowShare = lowShare;
+    }
+
+    /**
+     * Admits a request if its priority's share of the limit is not used up. An admitted request
+     * must be followed by exactly one {@link #release}.
+     *
+     * @param priority The request's priority
+     * @return The number of requests in flight before this one, or -1 if it must be shed
+     */
+    public int tryAcquire(Priority priority) {
+        int capacity = capacity(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= capacity) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Releases a request admitted by {@link #tryAcquire}.
+     *
+     * @param rttNanos         The request's latency, or a negative value to skip adjusting the limit
+     * @param inFlightAtStart  The value {@link #tryAcquire} returned
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos > 0) {
+            onSample(rttNanos, inFlightAtStart);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        if (longRttNanos > shortRttNanos * 2) {
+            // Latency dropped for good; let the baseline follow quickly
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, latencyTolerance * longRttNanos / shortRttNanos));
+        double estimate = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    private int capacity(Priority priority) {
+        double current = limit;
+        return switch (priority) {
+            case HIGH -> (int) current;
+            case NORMAL -> Math.max(1, (int) (current * normalShare));
+            case LOW -> Math.max(1, (int) (current * lowShare));
+        };
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
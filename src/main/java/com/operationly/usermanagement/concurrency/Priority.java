@@ -0,0 +1,10 @@
+package com.operationly.usermanagement.concurrency;
+
+/**
+ * How important a request is to the rest of the platform; lower priorities are shed first.
+ */
+public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+}
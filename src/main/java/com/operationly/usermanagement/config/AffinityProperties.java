@@ -0,0 +1,16 @@
+package com.operationly.usermanagement.config;
+
+import com.operationly.usermanagement.affinity.client.HashRing;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.affinity")
+public class AffinityProperties {
+    /** Publishes this instance's hash ring tokens in its Eureka metadata. */
+    private boolean enabled = true;
+    /** Tokens on the ring; an instance's share of users is proportional to it, so larger instances may publish more. */
+    private int tokens = HashRing.DEFAULT_TOKENS;
+}
@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.audit")
+public class AuditProperties {
+    /** Delay between scheduled flushes of queued audit events. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+    /** Rows per INSERT statement; a queue this long also triggers a flush before the next tick. */
+    private int batchSize = 500;
+    /** Events held in memory; once full, further events are dropped until a background flush makes room. */
+    private int queueCapacity = 10_000;
+}
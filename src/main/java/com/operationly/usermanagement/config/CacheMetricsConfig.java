@@ -0,0 +1,43 @@
+package com.operationly.usermanagement.config;
+
+import com.operationly.usermanagement.entity.Organization;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Exports a hit ratio gauge per second-level cache region. Raw hit/miss counters per region
+ * are already published by the Hibernate metrics binder.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    private static final List<String> REGIONS = List.of(Organization.CACHE_REGION, Organization.QUERY_CACHE_REGION);
+
+    @Bean
+    public MeterBinder cacheRegionHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> REGIONS.forEach(region -> Gauge
+                .builder("hibernate.cache.region.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                .tag("region", region)
+                .description("Second-level cache hit ratio per region")
+                .register(registry));
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long total = hits + regionStatistics.getMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,31 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 100;
+    private int minLimit = 10;
+    private int maxLimit = 500;
+    /** Weight of each new limit estimate, between 0 and 1. */
+    private double smoothing = 0.2;
+    /** How much the short-term latency may exceed the long-term baseline before the limit shrinks. */
+    private double latencyTolerance = 1.5;
+    /** Share of the limit normal-priority requests may use. */
+    private double normalPriorityShare = 0.9;
+    /** Share of the limit low-priority requests may use; they are shed first. */
+    private double lowPriorityShare = 0.6;
+    /** Only requests under this path, relative to the context path, are limited. */
+    private String limitedPathPrefix = "/api/";
+    /** Path patterns, optionally prefixed with an HTTP method ("GET /api/v1/organizations"). */
+    private List<String> highPriority = List.of("/api/v1/users/context", "/api/v1/users/me");
+    private List<String> lowPriority = List.of("GET /api/v1/organizations", "/api/v1/users/org/*",
+            "/api/v1/organizations/*/members/export");
+}
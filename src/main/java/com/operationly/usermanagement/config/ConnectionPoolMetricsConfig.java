@@ -0,0 +1,34 @@
+package com.operationly.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exports a utilization gauge (active / maximum connections) per Hikari pool. Acquire time, active,
+ * idle and pending counts per pool are already published by Hikari's own Micrometer tracker.
+ */
+@Configuration
+public class ConnectionPoolMetricsConfig {
+
+    @Bean
+    public MeterBinder connectionPoolUtilizationMetrics(ObjectProvider<HikariDataSource> hikariDataSources) {
+        return registry -> hikariDataSources.orderedStream().forEach(dataSource -> Gauge
+                .builder("hikaricp.connections.utilization", dataSource, ConnectionPoolMetricsConfig::utilization)
+                .tag("pool", dataSource.getPoolName())
+                .description("Share of the pool's maximum connections currently in use")
+                .register(registry));
+    }
+
+    private static double utilization(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return Double.NaN;
+        }
+        return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+}
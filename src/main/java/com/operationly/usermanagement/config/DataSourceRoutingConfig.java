@@ -0,0 +1,108 @@
+package com.operationly.usermanagement.config;
+
+import com.operationly.usermanagement.datasource.DataSourceRoute;
+import com.operationly.usermanagement.datasource.ReadYourWritesTracker;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.UsePoolInterceptor;
+import com.operationly.usermanagement.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection routing, enabled with {@code operationly.datasource.replica.enabled=true} (primary/replica)
+ * and/or {@code operationly.datasource.isolation.enabled=true} (separate read and bulk pools, chosen
+ * with {@link UsePool}). The primary pool keeps using {@code spring.datasource.*} and serves writes;
+ * the others are configured under {@code operationly.datasource.replica.hikari.*},
+ * {@code operationly.datasource.isolation.read.hikari.*} and {@code operationly.datasource.isolation.bulk.hikari.*}.
+ */
+@Configuration
+@ConditionalOnExpression("${operationly.datasource.replica.enabled:false} or ${operationly.datasource.isolation.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "operationly.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("operationly.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "operationly.datasource.isolation", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("operationly.datasource.isolation.read.hikari")
+    public HikariDataSource readDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "operationly.datasource.isolation", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("operationly.datasource.isolation.bulk.hikari")
+    public HikariDataSource bulkDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 @Qualifier("readDataSource") ObjectProvider<HikariDataSource> readDataSource,
+                                 @Qualifier("bulkDataSource") ObjectProvider<HikariDataSource> bulkDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceRoute.PRIMARY, primaryDataSource);
+        replicaDataSource.ifAvailable(pool -> targetDataSources.put(DataSourceRoute.REPLICA, pool));
+        readDataSource.ifAvailable(pool -> targetDataSources.put(DataSourceRoute.READ, pool));
+        bulkDataSource.ifAvailable(pool -> targetDataSources.put(DataSourceRoute.BULK, pool));
+
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource(readYourWritesTracker,
+                targetDataSources.containsKey(DataSourceRoute.REPLICA));
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Applies {@link UsePool} to service beans. Ordered first so the workload is already set when the
+     * transaction interceptor runs.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(prefix = "operationly.datasource.isolation", name = "enabled", havingValue = "true")
+    public static Advisor usePoolAdvisor() {
+        AnnotationMatchingPointcut classPointcut = new AnnotationMatchingPointcut(UsePool.class, true);
+        AnnotationMatchingPointcut methodPointcut = AnnotationMatchingPointcut.forMethodAnnotation(UsePool.class);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(classPointcut).union(methodPointcut),
+                new UsePoolInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
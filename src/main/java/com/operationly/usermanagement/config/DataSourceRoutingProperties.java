@@ -0,0 +1,16 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.datasource.replica")
+public class DataSourceRoutingProperties {
+    private boolean enabled = false;
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private long readYourWritesMaximumUsers = 100_000;
+}
@@ -0,0 +1,25 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.idempotency")
+public class IdempotencyProperties {
+    /** POST paths, relative to the context path, that honour the Idempotency-Key header. */
+    private List<String> paths = List.of("/api/v1/organizations");
+    /** How long a completed response is replayed. */
+    private Duration ttl = Duration.ofHours(24);
+    /** How long a duplicate waits for the first execution, and the lease of an unfinished claim. */
+    private Duration inProgressTimeout = Duration.ofSeconds(30);
+    /** Delay between renewals of the leases of running requests; well below the in-progress timeout. */
+    private Duration leaseRenewalInterval = Duration.ofSeconds(10);
+    private int cacheMaximumSize = 10_000;
+    /** Delay between purges of expired records. */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,23 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.known-users")
+public class KnownUserFilterProperties {
+    private boolean enabled = true;
+    /** Target false positive rate of the Bloom filter; unknown IDs slip through to the database at this rate. */
+    private double falsePositiveRate = 0.01;
+    /** Smallest number of users the filter is sized for; it is sized for twice the current count otherwise. */
+    private int minExpectedUsers = 100_000;
+    /** Delay between scans for users inserted by any instance; bounds how long a new user can be reported unknown. */
+    private Duration refreshInterval = Duration.ofSeconds(2);
+    /** How long a workos_user_id confirmed missing in the database is answered from memory. */
+    private Duration negativeCacheTtl = Duration.ofSeconds(30);
+    private int negativeCacheMaximumSize = 100_000;
+}
@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.last-sign-in")
+public class LastSignInBufferProperties {
+    /** Delay between scheduled flushes of buffered last_sign_in_at values. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+    /** Rows per UPDATE statement. */
+    private int batchSize = 1_000;
+    /** Users held before a background flush is started and sign-ins of further users are dropped. */
+    private int maxPendingUsers = 50_000;
+}
@@ -0,0 +1,54 @@
+package com.operationly.usermanagement.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.operationly.usermanagement.logging.CountingAsyncAppender;
+import com.operationly.usermanagement.logging.SamplingTurboFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exports what the logging pipeline in logback-spring.xml throws away: events dropped by the async
+ * appender and events denied by sampling. Event counts per level are already published by the
+ * Logback metrics binder.
+ */
+@Configuration
+public class LoggingMetricsConfig {
+
+    private static final String ASYNC_APPENDER = "ASYNC";
+
+    @Bean
+    public MeterBinder loggingPipelineMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            if (context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER)
+                    instanceof CountingAsyncAppender appender) {
+                FunctionCounter.builder("logging.events.dropped", appender, CountingAsyncAppender::getDiscarded)
+                        .tag("reason", "discarding_threshold")
+                        .description("Log events at INFO and below dropped because the async queue was nearly full")
+                        .register(registry);
+                FunctionCounter.builder("logging.events.dropped", appender, CountingAsyncAppender::getRejected)
+                        .tag("reason", "queue_full")
+                        .description("Log events dropped because the async queue was full")
+                        .register(registry);
+                Gauge.builder("logging.async.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                        .description("Log events waiting to be written")
+                        .register(registry);
+            }
+            context.getTurboFilterList().stream()
+                    .filter(SamplingTurboFilter.class::isInstance)
+                    .map(SamplingTurboFilter.class::cast)
+                    .forEach(filter -> FunctionCounter
+                            .builder("logging.events.sampled_out", filter, SamplingTurboFilter::getSampledOut)
+                            .tag("filter", filter.getName() != null ? filter.getName() : "sampling")
+                            .description("Log events skipped by sampling")
+                            .register(registry));
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.membership-index")
+public class MembershipIndexProperties {
+    private boolean enabled = true;
+    /** Full reload interval; compacts the index and repairs it should a change notification be lost. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,93 @@
+package com.operationly.usermanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot infer. Entities,
+ * repositories and controller signatures are covered by AOT itself; what is left is types that are
+ * only reached through Jackson or by class name: DTOs nested in {@code BaseResponse}, import and
+ * export rows, Lombok builders, the WorkOS SDK models and the JCache provider. Packages are scanned
+ * at build time so new DTOs are picked up without touching this class.
+ */
+@Slf4j
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** Packages whose classes are (de)serialized by Jackson, ours and the WorkOS SDK's. */
+    private static final List<String> JSON_PACKAGES = List.of(
+            "com.operationly.usermanagement.dto",
+            "com.operationly.usermanagement.importer",
+            "com.operationly.usermanagement.exporter",
+            "com.workos.common.models",
+            "com.workos.usermanagement.models",
+            "com.workos.usermanagement.types");
+
+    private static final String CACHING_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String basePackage : JSON_PACKAGES) {
+            for (String className : classNames(basePackage, classLoader)) {
+                registerBinding(hints, className, classLoader);
+            }
+        }
+
+        hints.reflection().registerType(TypeReference.of(CACHING_PROVIDER),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.resources()
+                .registerPattern("hibernate-cache.conf")
+                .registerPattern("liquibase/*.xml")
+                .registerPattern("liquibase/changelogs/*.xml");
+    }
+
+    private void registerBinding(RuntimeHints hints, String className, ClassLoader classLoader) {
+        try {
+            Class<?> type = ClassUtils.forName(className, classLoader);
+            bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+            // Lombok builders are not reached from the serialized types' members
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("Skipping native hints for {}: {}", className, e.getMessage());
+        }
+    }
+
+    private static List<String> classNames(String basePackage, ClassLoader classLoader) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory readerFactory = new CachingMetadataReaderFactory(resolver);
+        String pattern = "classpath*:" + ClassUtils.convertClassNameToResourcePath(basePackage) + "/**/*.class";
+        try {
+            Resource[] resources = resolver.getResources(pattern);
+            return Arrays.stream(resources)
+                    .map(resource -> className(readerFactory, resource))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not scan " + basePackage, e);
+        }
+    }
+
+    private static String className(MetadataReaderFactory readerFactory, Resource resource) {
+        try {
+            return readerFactory.getMetadataReader(resource).getClassMetadata().getClassName();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.partition-backfill")
+public class PartitionBackfillProperties {
+    /** Copies user_organization into its partitioned replacement; only needed while a migration is pending. */
+    private boolean enabled = false;
+    /** Range of ids copied per transaction; bounds how long a batch holds its row locks. */
+    private int batchSize = 5_000;
+    /** Pause between batches, leaving the database room for regular traffic. */
+    private Duration interval = Duration.ofMillis(200);
+}
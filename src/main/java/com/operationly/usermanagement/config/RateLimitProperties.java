@@ -0,0 +1,32 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /** Users tracked per endpoint; the least valuable entries are evicted beyond this. */
+    private int maxTrackedUsers = 100_000;
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+        /** Path relative to the context path. */
+        private String path;
+        /** HTTP method, or null for any. */
+        private String method;
+        /** Sustained rate: this many requests per period. */
+        private int requests = 10;
+        private Duration period = Duration.ofMinutes(1);
+        /** Requests allowed back to back before the sustained rate applies. */
+        private int burst = 5;
+    }
+}
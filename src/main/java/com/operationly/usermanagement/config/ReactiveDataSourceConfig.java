@@ -0,0 +1,54 @@
+package com.operationly.usermanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Non-blocking R2DBC pool for the reactive read endpoints, enabled with
+ * {@code operationly.reactive.enabled=true}. It sits next to the JDBC pools and has no transaction
+ * manager of its own, so JPA and {@code @Transactional} keep using JDBC. The pool is deliberately not
+ * exposed as a {@code ConnectionFactory} bean: Boot backs off its JDBC DataSource auto-configuration
+ * when one exists, and its R2DBC auto-configuration is excluded in application.yaml for the same
+ * reason. Pool metrics are therefore bound here rather than by Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "operationly.reactive", name = "enabled", havingValue = "true")
+public class ReactiveDataSourceConfig {
+
+    private static final String POOL_NAME = "reactive-pool";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveDataSourceProperties properties, MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(POOL_NAME)
+                .initialSize(properties.getInitialSize())
+                .maxSize(properties.getMaxSize())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .build());
+        new ConnectionPoolMetrics(connectionPool, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void disposeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.reactive")
+public class ReactiveDataSourceProperties {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private int initialSize = 10;
+    private int maxSize = 50;
+    private Duration maxIdleTime = Duration.ofMinutes(10);
+}
@@ -0,0 +1,17 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    /** Lifetime of a cached body; bounds how long writes made by other instances can go unseen. */
+    private Duration ttl = Duration.ofSeconds(30);
+    private int maximumSize = 50_000;
+}
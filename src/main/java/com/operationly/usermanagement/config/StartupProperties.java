@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "operationly.startup")
+public class StartupProperties {
+    /** Skip Liquibase when the changelog checksum recorded in the database matches the bundled changelogs. */
+    private boolean skipUnchangedChangelog = false;
+    /** Open every pool's minimum-idle connections before the instance reports ready. */
+    private boolean prefillPools = false;
+    /** Most recently updated organizations loaded into the second-level cache before the instance reports ready. */
+    private int warmupOrganizations = 0;
+    /** Buffer startup steps for the actuator startup endpoint; read by StartupStepRecorder before binding. */
+    private boolean recordSteps = false;
+}
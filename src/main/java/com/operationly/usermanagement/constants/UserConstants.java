@@ -8,6 +8,7 @@ public final class UserConstants {
     public static final String FAILURE = "FAILURE";
     public static final String BEARER = "Bearer ";
     public static final String BUSINESS_EXCEPTION = "BUSINESS_EXCEPTION";
+    public static final String TEXT_CSV = "text/csv";
 
     @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
     public static final class SecurityConstants {
@@ -16,5 +17,8 @@ public final class UserConstants {
         public static final String HEADER_USER_EMAIL = "x-user-email";
         public static final String HEADER_USER_ROLE = "x-user-role";
         public static final String HEADER_ORG_ID = "x-org-id";
+        public static final String PARAM_WORKOS_USER_ID = "workosUserId";
+        public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+        public static final String HEADER_IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
     }
 }
@@ -0,0 +1,40 @@
+package com.operationly.usermanagement.controller;
+
+import com.operationly.usermanagement.dto.AuditEventPageDto;
+import com.operationly.usermanagement.dto.BaseResponse;
+import com.operationly.usermanagement.service.AuditEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+import static com.operationly.usermanagement.constants.UserConstants.SUCCESS;
+
+@RestController
+@RequestMapping("/api/v1/organizations/{orgId}/audit-events")
+@RequiredArgsConstructor
+@Slf4j
+public class AuditEventController {
+
+    private final AuditEventService auditEventService;
+
+    /**
+     * Gets one page of an organization's audit events, newest first, optionally limited to [from, to).
+     */
+    @GetMapping
+    public ResponseEntity<BaseResponse<AuditEventPageDto>> getAuditEvents(
+            @PathVariable String orgId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+
+        BaseResponse<AuditEventPageDto> response = new BaseResponse<>();
+        response.setStatus(SUCCESS);
+        response.setResponse(auditEventService.getAuditEvents(orgId, from, to, limit, cursor));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.operationly.usermanagement.controller;
+
+import com.operationly.usermanagement.dto.BaseResponse;
+import com.operationly.usermanagement.dto.BulkMemberRemovalDto;
+import com.operationly.usermanagement.dto.BulkMembershipRequestDto;
+import com.operationly.usermanagement.dto.BulkMembershipResultDto;
+import com.operationly.usermanagement.dto.ImportReportDto;
+import com.operationly.usermanagement.dto.MembershipRoleDto;
+import com.operationly.usermanagement.exporter.ExportFormat;
+import com.operationly.usermanagement.importer.ImportFormat;
+import com.operationly.usermanagement.service.MemberExportService;
+import com.operationly.usermanagement.service.MembershipService;
+import com.operationly.usermanagement.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+import static com.operationly.usermanagement.constants.UserConstants.SUCCESS;
+import static com.operationly.usermanagement.constants.UserConstants.TEXT_CSV;
+
+@RestController
+@RequestMapping("/api/v1/organizations/{orgId}/members")
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizationMemberController {
+
+    private static final String APPLICATION_GZIP = "application/gzip";
+
+    private final UserImportService userImportService;
+    private final MemberExportService memberExportService;
+    private final MembershipService membershipService;
+
+    /**
+     * Bulk imports users and their memberships from a CSV or NDJSON body.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BaseResponse<ImportReportDto>> importMembers(
+            @PathVariable String orgId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        ImportReportDto report = userImportService.importMembers(orgId, ImportFormat.fromContentType(contentType), body);
+
+        BaseResponse<ImportReportDto> response = new BaseResponse<>();
+        response.setStatus(SUCCESS);
+        response.setResponse(report);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams every member of an organization as a CSV or NDJSON download, optionally gzip-compressed.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @PathVariable String orgId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        StreamingResponseBody body = memberExportService.exportMembers(orgId, exportFormat, gzip);
+
+        String filename = "members-" + orgId + "." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? APPLICATION_GZIP : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Adds many users to the organization in one request.
+     */
+    @PostMapping
+    public ResponseEntity<BaseResponse<BulkMembershipResultDto>> addMembers(@PathVariable String orgId,
+                                                                            @RequestBody BulkMembershipRequestDto request) {
+        return ok(membershipService.addMembers(orgId, request));
+    }
+
+    /**
+     * Changes the role of many members of the organization in one request.
+     */
+    @PatchMapping("/roles")
+    public ResponseEntity<BaseResponse<BulkMembershipResultDto>> changeMemberRoles(@PathVariable String orgId,
+                                                                                   @RequestBody BulkMembershipRequestDto request) {
+        return ok(membershipService.changeMemberRoles(orgId, request));
+    }
+
+    /**
+     * Removes many members from the organization in one request.
+     */
+    @PostMapping("/remove")
+    public ResponseEntity<BaseResponse<BulkMembershipResultDto>> removeMembers(@PathVariable String orgId,
+                                                                               @RequestBody BulkMemberRemovalDto request) {
+        return ok(membershipService.removeMembers(orgId, request));
+    }
+
+    /**
+     * Gets the role a user holds in the organization.
+     */
+    @GetMapping("/{userId}/role")
+    public ResponseEntity<BaseResponse<MembershipRoleDto>> getMemberRole(@PathVariable String orgId,
+                                                                         @PathVariable Long userId) {
+        BaseResponse<MembershipRoleDto> response = new BaseResponse<>();
+        response.setStatus(SUCCESS);
+        response.setResponse(membershipService.getMemberRole(orgId, userId));
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<BaseResponse<BulkMembershipResultDto>> ok(BulkMembershipResultDto result) {
+        BaseResponse<BulkMembershipResultDto> response = new BaseResponse<>();
+        response.setStatus(SUCCESS);
+        response.setResponse(result);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.operationly.usermanagement.controller;
+
+import com.operationly.usermanagement.dto.UserContextDto;
+import com.operationly.usermanagement.repository.reactive.ReactiveUserContextRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of {@code GET /api/v1/users/context}. Spring MVC subscribes to the returned Mono
+ * asynchronously, so the servlet thread is released while the query is in flight.
+ */
+@RestController
+@RequestMapping("/api/v1/users/reactive")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "operationly.reactive", name = "enabled", havingValue = "true")
+public class ReactiveUserController {
+
+    private final ReactiveUserContextRepository reactiveUserContextRepository;
+
+    @GetMapping("/context")
+    public Mono<ResponseEntity<UserContextDto>> getUserContext(@RequestParam("workosUserId") String workosUserId) {
+        return reactiveUserContextRepository.findContextByWorkosUserId(workosUserId)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("No user context found for WorkOS ID: {}", workosUserId);
+                    return ResponseEntity.notFound().build();
+                }));
+    }
+}
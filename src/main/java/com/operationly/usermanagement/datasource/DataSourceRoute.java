@@ -0,0 +1,11 @@
+package com.operationly.usermanagement.datasource;
+
+/**
+ * Lookup keys used by {@link WorkloadRoutingDataSource} to pick a connection pool.
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA,
+    READ,
+    BULK
+}
@@ -0,0 +1,60 @@
+package com.operationly.usermanagement.datasource;
+
+import lombok.NoArgsConstructor;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the WorkOS user the current thread is serving, so the routing data source
+ * can honour the read-your-writes window for that user, and the {@link Workload}
+ * whose pool the thread's connections should come from.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<String> CURRENT_WORKOS_USER_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Workload> CURRENT_WORKLOAD = new ThreadLocal<>();
+
+    public static void setWorkosUserId(String workosUserId) {
+        CURRENT_WORKOS_USER_ID.set(workosUserId);
+    }
+
+    public static String getWorkosUserId() {
+        return CURRENT_WORKOS_USER_ID.get();
+    }
+
+    public static void setWorkload(Workload workload) {
+        if (workload == null) {
+            CURRENT_WORKLOAD.remove();
+        } else {
+            CURRENT_WORKLOAD.set(workload);
+        }
+    }
+
+    public static Workload getWorkload() {
+        return CURRENT_WORKLOAD.get();
+    }
+
+    /**
+     * Runs work on the given workload's pool, for code that is not reached through a {@link UsePool}
+     * proxy, such as streaming response bodies and scheduled jobs.
+     *
+     * @param workload The workload whose pool should serve the work
+     * @param work     The work to run
+     * @return The work's result
+     */
+    public static <T> T callWithWorkload(Workload workload, Supplier<T> work) {
+        Workload previous = getWorkload();
+        setWorkload(workload);
+        try {
+            return work.get();
+        } finally {
+            setWorkload(previous);
+        }
+    }
+
+    public static void clear() {
+        CURRENT_WORKOS_USER_ID.remove();
+        CURRENT_WORKLOAD.remove();
+    }
+}
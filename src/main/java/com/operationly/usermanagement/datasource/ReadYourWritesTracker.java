@@ -0,0 +1,58 @@
+package com.operationly.usermanagement.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.operationly.usermanagement.config.DataSourceRoutingProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which WorkOS users wrote recently so their reads can be pinned to the
+ * primary until the replica has had time to catch up.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(DataSourceRoutingProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getReadYourWritesMaximumUsers())
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    /**
+     * Records a write for the given user, opening a read-your-writes window once the current
+     * transaction commits. A rolled back write opens none, and the window is measured from the
+     * commit the replica has to catch up with.
+     *
+     * @param workosUserId The WorkOS user ID
+     */
+    public void recordWrite(String workosUserId) {
+        if (workosUserId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(workosUserId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(workosUserId, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Checks whether reads for the given user must still go to the primary.
+     *
+     * @param workosUserId The WorkOS user ID, may be null
+     * @return true if the user wrote within the configured window
+     */
+    public boolean isPinnedToPrimary(String workosUserId) {
+        return workosUserId != null && recentWriters.getIfPresent(workosUserId) != null;
+    }
+}
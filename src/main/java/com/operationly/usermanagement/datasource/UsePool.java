@@ -0,0 +1,21 @@
+package com.operationly.usermanagement.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or every method of the annotated class, on the connection pool for
+ * the given workload when {@code operationly.datasource.isolation.enabled=true}. The pool is chosen
+ * when the transaction first needs a connection, so the outermost annotated call wins; read-only
+ * transactions still go to the replica when replica routing is on.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePool {
+
+    Workload value();
+}
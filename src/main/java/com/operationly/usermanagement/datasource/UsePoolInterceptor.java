@@ -0,0 +1,37 @@
+package com.operationly.usermanagement.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Sets the {@link Workload} of a {@link UsePool} method for the duration of the call and restores
+ * the caller's afterwards.
+ */
+public class UsePoolInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Workload previous = DataSourceRoutingContext.getWorkload();
+        DataSourceRoutingContext.setWorkload(resolveWorkload(invocation));
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceRoutingContext.setWorkload(previous);
+        }
+    }
+
+    private static Workload resolveWorkload(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        UsePool usePool = AnnotatedElementUtils.findMergedAnnotation(method, UsePool.class);
+        if (usePool == null) {
+            usePool = AnnotatedElementUtils.findMergedAnnotation(targetClass, UsePool.class);
+        }
+        return usePool != null ? usePool.value() : null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.operationly.usermanagement.datasource;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kinds of database work that get their own connection pool, so a burst of one cannot starve
+ * the others.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Workload {
+    /** Login syncs and onboarding; uses the primary pool. */
+    WRITE(DataSourceRoute.PRIMARY),
+    /** Context and lookup reads the rest of the platform waits on. */
+    READ(DataSourceRoute.READ),
+    /** Imports, exports and full-table loads. */
+    BULK(DataSourceRoute.BULK);
+
+    private final DataSourceRoute route;
+}
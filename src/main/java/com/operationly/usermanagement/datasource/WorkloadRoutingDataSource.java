@@ -0,0 +1,29 @@
+package com.operationly.usermanagement.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool when one is configured, then work marked with
+ * {@link UsePool} to its workload's pool, and everything else to the primary. Routes without a
+ * configured pool fall back to the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the lookup happens
+ * after the transaction's read-only flag is known.
+ */
+@RequiredArgsConstructor
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final boolean replicaEnabled;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaEnabled && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !readYourWritesTracker.isPinnedToPrimary(DataSourceRoutingContext.getWorkosUserId())) {
+            return DataSourceRoute.REPLICA;
+        }
+        Workload workload = DataSourceRoutingContext.getWorkload();
+        return workload != null ? workload.getRoute() : DataSourceRoute.PRIMARY;
+    }
+}
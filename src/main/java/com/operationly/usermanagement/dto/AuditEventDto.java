@@ -0,0 +1,23 @@
+package com.operationly.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEventDto {
+    private Long id;
+    private String eventType;
+    private String organizationId;
+    private Long userId;
+    private String workosUserId;
+    private String role;
+    private Map<String, Object> changes;
+    private String occurredAt;
+}
@@ -0,0 +1,20 @@
+package com.operationly.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEventPageDto {
+    private List<AuditEventDto> events;
+    /**
+     * Opaque cursor for the next, older page; null on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkMembershipRequestDto {
+    /**
+     * Users and the role to give them; when a user appears more than once, the last entry wins.
+     */
+    private List<MembershipChangeDto> members;
+}
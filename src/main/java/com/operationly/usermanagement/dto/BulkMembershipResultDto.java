@@ -0,0 +1,20 @@
+package com.operationly.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkMembershipResultDto {
+    private int requested;
+    /**
+     * Memberships actually added, changed or removed; entries that were already in the requested
+     * state are not counted.
+     */
+    private int applied;
+    private long membersVersion;
+}
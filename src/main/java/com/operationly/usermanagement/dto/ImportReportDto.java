@@ -0,0 +1,33 @@
+package com.operationly.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportReportDto {
+    private long totalRows;
+    private long acceptedRows;
+    private long rejectedRows;
+    /**
+     * Valid rows that added no membership: the user was already a member, or a later row for the same
+     * user replaced it.
+     */
+    private long skippedRows;
+    private long createdUsers;
+    private long createdMemberships;
+    /**
+     * First rejected rows with reasons; capped, while {@link #rejectedRows} counts all of them.
+     */
+    private List<ImportRejectDto> rejects;
+    /**
+     * First skipped rows with reasons; capped, while {@link #skippedRows} counts all of them.
+     */
+    private List<ImportRejectDto> skips;
+}
@@ -3,6 +3,7 @@ package com.operationly.usermanagement.dto;
 import com.operationly.usermanagement.entity.Organization;
 import com.operationly.usermanagement.entity.Plan;
 import com.operationly.usermanagement.entity.Status;
+import com.operationly.usermanagement.repository.projection.OrganizationView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,6 +32,17 @@ public class OrganizationDto {
                 .build();
     }
 
+    public static OrganizationDto fromView(OrganizationView organization) {
+        return OrganizationDto.builder()
+                .organizationId(organization.getOrganizationId().toString())
+                .name(organization.getName())
+                .plan(organization.getPlan().getValue())
+                .status(organization.getStatus().getValue())
+                .createdAt(organization.getCreatedAt().toString())
+                .updatedAt(organization.getUpdatedAt().toString())
+                .build();
+    }
+
     public static Organization toEntity(OrganizationDto organizationDto) {
         return Organization.builder()
                 .name(organizationDto.getName())
@@ -1,7 +1,9 @@
 package com.operationly.usermanagement.entity;
 
+import com.operationly.usermanagement.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,12 +15,17 @@ import java.util.UUID;
         @Index(name = "idx_organization_status", columnList = "status"),
         @Index(name = "idx_organization_plan", columnList = "plan")
 })
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Organization.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Organization {
 
+    public static final String CACHE_REGION = "organization";
+    public static final String QUERY_CACHE_REGION = "organization-query";
+
     @Id
     @Column(name = "organization_id", nullable = false, updatable = false)
     private UUID organizationId;
@@ -50,7 +57,7 @@ public class Organization {
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
         if (organizationId == null) {
-            organizationId = UUID.randomUUID();
+            organizationId = TimeOrderedUuid.next();
         }
         createdAt = now;
         updatedAt = now;
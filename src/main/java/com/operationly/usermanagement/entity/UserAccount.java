@@ -2,16 +2,17 @@ package com.operationly.usermanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
 @Table(name = "user_account", indexes = {
         @Index(name = "idx_workos_user_id", columnList = "workos_user_id", unique = true),
-        @Index(name = "idx_email", columnList = "email"),
-        @Index(name = "idx_organization_id", columnList = "organization_id")
+        @Index(name = "idx_email", columnList = "email")
 })
 @Data
 @NoArgsConstructor
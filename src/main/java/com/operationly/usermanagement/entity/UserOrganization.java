@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "user_organization", indexes = {
-        @Index(name = "uq_user_organization_user_org", columnList = "user_id, organization_id", unique = true)
+        @Index(name = "uq_user_organization_user_org", columnList = "user_id, organization_id", unique = true),
+        @Index(name = "idx_user_organization_organization_id", columnList = "organization_id, user_id")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,31 @@
+package com.operationly.usermanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * The primary organization of a user, the membership with the lowest id. Maintained by a trigger
+ * on user_organization (changelog 014) and read-only here; it gives user-scoped lookups the
+ * organization_id they need to touch a single partition of user_organization.
+ */
+@Entity
+@Immutable
+@Table(name = "user_primary_organization")
+@Data
+@NoArgsConstructor
+public class UserPrimaryOrganization {
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+}
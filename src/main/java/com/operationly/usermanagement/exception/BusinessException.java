@@ -4,6 +4,11 @@ import lombok.Getter;
 
 import static com.operationly.usermanagement.constants.UserConstants.BUSINESS_EXCEPTION;
 
+/**
+ * An expected failure reported to the caller as a 400. Instances created without a cause skip
+ * filling in the stack trace: they are thrown on hot paths such as lookups of unknown users, are
+ * logged by message only, and the trace would be the most expensive part of throwing them.
+ */
 @Getter
 public class BusinessException extends RuntimeException {
 
@@ -11,7 +16,7 @@ public class BusinessException extends RuntimeException {
     private final String errorMessage;
 
     public BusinessException(String errorMessage) {
-        super(errorMessage);
+        super(errorMessage, null, false, false);
         this.errorCode = BUSINESS_EXCEPTION;
         this.errorMessage = errorMessage;
     }
@@ -23,7 +28,7 @@ public class BusinessException extends RuntimeException {
     }
 
     public BusinessException(String errorCode, String errorMessage) {
-        super(errorMessage);
+        super(errorMessage, null, false, false);
         this.errorCode = errorCode;
         this.errorMessage = errorMessage;
     }
@@ -2,6 +2,7 @@ package com.operationly.usermanagement.exception;
 
 import com.operationly.usermanagement.dto.BaseResponse;
 import com.operationly.usermanagement.dto.ErrorDetails;
+import com.operationly.usermanagement.logging.LogRateLimiter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import static com.operationly.usermanagement.constants.UserConstants.FAILURE;
@@ -17,9 +19,17 @@ import static com.operationly.usermanagement.constants.UserConstants.FAILURE;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /** Repeated business errors of the same kind are logged at most once per second. */
+    private final LogRateLimiter businessExceptionLogLimiter = new LogRateLimiter(Duration.ofSeconds(1));
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<BaseResponse<Void>> handleBusinessException(BusinessException ex) {
-        log.error("BusinessException: {}", ex.getErrorMessage());
+        long suppressed = businessExceptionLogLimiter.tryAcquire(logKey(ex));
+        if (suppressed > 0) {
+            log.error("BusinessException: {} ({} similar suppressed)", ex.getErrorMessage(), suppressed);
+        } else if (suppressed == 0) {
+            log.error("BusinessException: {}", ex.getErrorMessage());
+        }
         BaseResponse<Void> response = new BaseResponse<>();
         ErrorDetails errorDetails = new ErrorDetails();
 
@@ -58,4 +68,14 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
+
+    /**
+     * Groups business errors by code and by message up to the first colon, which is where messages
+     * append the offending ID.
+     */
+    private static String logKey(BusinessException ex) {
+        String message = String.valueOf(ex.getErrorMessage());
+        int colon = message.indexOf(':');
+        return ex.getErrorCode() + '|' + (colon >= 0 ? message.substring(0, colon) : message);
+    }
 }
@@ -0,0 +1,65 @@
+package com.operationly.usermanagement.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV writer. The header reuses the import column names so an export can be re-imported as is.
+ */
+public class CsvMemberExportWriter implements MemberExportWriter {
+
+    static final String HEADER =
+            "workos_user_id,email,first_name,last_name,email_verified,role,user_id,joined_at,last_sign_in_at";
+
+    private final Writer writer;
+
+    public CsvMemberExportWriter(OutputStream output) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(MemberExportRow row) throws IOException {
+        field(row.workosUserId()).write(',');
+        field(row.email()).write(',');
+        field(row.firstName()).write(',');
+        field(row.lastName()).write(',');
+        writer.write(Boolean.toString(row.emailVerified()));
+        writer.write(',');
+        field(row.role()).write(',');
+        writer.write(Long.toString(row.userId()));
+        writer.write(',');
+        field(row.joinedAt() != null ? row.joinedAt().toString() : null).write(',');
+        field(row.lastSignInAt() != null ? row.lastSignInAt().toString() : null).write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private Writer field(String value) throws IOException {
+        if (value == null) {
+            return writer;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return writer;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+        return writer;
+    }
+}
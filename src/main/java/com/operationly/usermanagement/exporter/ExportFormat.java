@@ -0,0 +1,35 @@
+package com.operationly.usermanagement.exporter;
+
+import com.operationly.usermanagement.exception.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+import static com.operationly.usermanagement.constants.UserConstants.TEXT_CSV;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV(TEXT_CSV, "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    /**
+     * Resolves the export format from the {@code format} query parameter, case-insensitively.
+     *
+     * @param name The requested format name
+     * @return The matching format
+     * @throws BusinessException if the format is not supported
+     */
+    public static ExportFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Unsupported export format", "format must be csv or ndjson");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.operationly.usermanagement.exporter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One exported membership, read straight off the export cursor.
+ */
+public record MemberExportRow(
+        long userId,
+        String workosUserId,
+        String email,
+        String firstName,
+        String lastName,
+        boolean emailVerified,
+        String role,
+        LocalDateTime joinedAt,
+        LocalDateTime lastSignInAt) {
+}
@@ -0,0 +1,12 @@
+package com.operationly.usermanagement.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported members incrementally; nothing beyond the current row is held in memory.
+ */
+public interface MemberExportWriter extends Closeable {
+
+    void write(MemberExportRow row) throws IOException;
+}
@@ -0,0 +1,50 @@
+package com.operationly.usermanagement.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Newline-delimited JSON writer using the same field names the import accepts.
+ */
+public class NdjsonMemberExportWriter implements MemberExportWriter {
+
+    private final JsonGenerator generator;
+
+    public NdjsonMemberExportWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(MemberExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("userId", row.userId());
+        generator.writeStringField("workosUserId", row.workosUserId());
+        generator.writeStringField("email", row.email());
+        generator.writeStringField("firstName", row.firstName());
+        generator.writeStringField("lastName", row.lastName());
+        generator.writeBooleanField("emailVerified", row.emailVerified());
+        generator.writeStringField("role", row.role());
+        writeDateTime("joinedAt", row.joinedAt());
+        writeDateTime("lastSignInAt", row.lastSignInAt());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeDateTime(String field, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.concurrency.AdaptiveConcurrencyLimiter;
+import com.operationly.usermanagement.concurrency.Priority;
+import com.operationly.usermanagement.config.ConcurrencyLimitProperties;
+import com.operationly.usermanagement.dto.BaseResponse;
+import com.operationly.usermanagement.dto.ErrorDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.operationly.usermanagement.constants.UserConstants.FAILURE;
+
+/**
+ * Caps the number of API requests in flight with an {@link AdaptiveConcurrencyLimiter} and sheds
+ * the excess with 503, low-priority requests first. Runs after the rate limiter, so requests it
+ * rejects never count against the limit. Actuator endpoints are never limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final List<PriorityRule> rules = new ArrayList<>();
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getSmoothing(), properties.getLatencyTolerance(),
+                properties.getNormalPriorityShare(), properties.getLowPriorityShare());
+        properties.getHighPriority().forEach(pattern -> rules.add(PriorityRule.parse(pattern, Priority.HIGH)));
+        properties.getLowPriority().forEach(pattern -> rules.add(PriorityRule.parse(pattern, Priority.LOW)));
+
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("API requests currently in flight")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("concurrency.shed")
+                    .tag("priority", priority.name().toLowerCase())
+                    .description("API requests rejected with 503 by the concurrency limiter")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !path(request).startsWith(properties.getLimitedPathPrefix());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Priority priority = classify(request);
+        int inFlightAtStart = limiter.tryAcquire(priority);
+        if (inFlightAtStart < 0) {
+            shed.get(priority).increment();
+            log.debug("Shed {} priority request {} at limit {}", priority, request.getRequestURI(), limiter.getLimit());
+            writeOverloaded(response);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses: hold the slot until they finish, but their duration is not a latency sample
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(inFlightAtStart));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                limiter.release(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+    }
+
+    Priority classify(HttpServletRequest request) {
+        String path = path(request);
+        for (PriorityRule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(rule.pattern(), path)) {
+                return rule.priority();
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    private void writeOverloaded(HttpServletResponse response) throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails();
+        errorDetails.setError("Service overloaded");
+        errorDetails.setMessage("The service is shedding load, retry shortly");
+        BaseResponse<Void> body = new BaseResponse<>();
+        body.setStatus(FAILURE);
+        body.setErrors(Collections.singletonList(errorDetails));
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private record PriorityRule(String method, String pattern, Priority priority) {
+
+        static PriorityRule parse(String rule, Priority priority) {
+            int space = rule.indexOf(' ');
+            return space < 0
+                    ? new PriorityRule(null, rule, priority)
+                    : new PriorityRule(rule.substring(0, space), rule.substring(space + 1).trim(), priority);
+        }
+    }
+
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private ReleaseOnCompletion(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-dispatches keep the same slot
+        }
+
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                limiter.release(-1, inFlightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.IdempotencyProperties;
+import com.operationly.usermanagement.dto.BaseResponse;
+import com.operationly.usermanagement.dto.ErrorDetails;
+import com.operationly.usermanagement.idempotency.IdempotencyRecord;
+import com.operationly.usermanagement.idempotency.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static com.operationly.usermanagement.constants.UserConstants.FAILURE;
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.HEADER_IDEMPOTENCY_KEY;
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.HEADER_IDEMPOTENT_REPLAYED;
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.HEADER_WORKOS_USER_ID;
+
+/**
+ * Honours the Idempotency-Key header on the configured POST endpoints. The first request with a key
+ * runs normally and its response (anything below 500) is stored; retries with the same key get the
+ * stored response without reaching the controller. A duplicate that arrives while the first is still
+ * running waits for it, up to the in-progress timeout.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER_IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !properties.getPaths().contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER_IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Invalid idempotency key",
+                    HEADER_IDEMPOTENCY_KEY + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String workosUserId = request.getHeader(HEADER_WORKOS_USER_ID);
+        String owner = workosUserId != null ? workosUserId : "";
+        byte[] requestHash = requestHash(request);
+
+        long deadline = System.nanoTime() + properties.getInProgressTimeout().toNanos();
+        long pollMillis = 25;
+        while (true) {
+            IdempotencyRecord record = idempotencyStore.find(owner, key);
+            if (record != null && !Arrays.equals(record.requestHash(), requestHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency key reused",
+                        "The idempotency key was already used with a different request");
+                return;
+            }
+            if (record != null && record.completed()) {
+                log.debug("Replaying stored response for idempotency key {}", key);
+                replay(record, response);
+                return;
+            }
+            if (record == null) {
+                UUID claimToken = idempotencyStore.tryClaim(owner, key, requestHash);
+                if (claimToken != null) {
+                    execute(owner, key, claimToken, requestHash, request, response, filterChain);
+                    return;
+                }
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.CONFLICT, "Request in progress",
+                        "A request with this idempotency key is still being processed");
+                return;
+            }
+            try {
+                idempotencyStore.awaitCompletion(owner, key, Math.min(pollMillis, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting on idempotency key " + key, e);
+            }
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    private void execute(String owner, String key, UUID claimToken, byte[] requestHash, HttpServletRequest request,
+            HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotencyStore.complete(owner, key, claimToken, requestHash, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(owner, key, claimToken);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.responseStatus());
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        response.setHeader(HEADER_IDEMPOTENT_REPLAYED, "true");
+        if (record.responseBody() != null) {
+            response.setContentLength(record.responseBody().length);
+            response.getOutputStream().write(record.responseBody());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String error, String message)
+            throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails();
+        errorDetails.setError(error);
+        errorDetails.setMessage(message);
+        BaseResponse<Void> body = new BaseResponse<>();
+        body.setStatus(FAILURE);
+        body.setErrors(Collections.singletonList(errorDetails));
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Fingerprints the request so a key cannot be replayed for a different one.
+     */
+    private static byte[] requestHash(HttpServletRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            // Parameters rather than the raw query string, so form-encoded bodies are covered too
+            new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+                digest.update((byte) '\n');
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                for (String value : values) {
+                    digest.update((byte) '=');
+                    digest.update(value.getBytes(StandardCharsets.UTF_8));
+                }
+            });
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.RateLimitProperties;
+import com.operationly.usermanagement.dto.BaseResponse;
+import com.operationly.usermanagement.dto.ErrorDetails;
+import com.operationly.usermanagement.ratelimit.GcraRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.operationly.usermanagement.constants.UserConstants.FAILURE;
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.HEADER_WORKOS_USER_ID;
+
+/**
+ * Limits each WorkOS user to the configured rate on expensive endpoints such as /users/sync and
+ * onboarding. Requests without the header are limited by client address instead. Runs ahead of the
+ * other application filters so a rejected request costs nothing but the bucket check.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Rule> rules;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.rules = !properties.isEnabled() ? List.of() : properties.getEndpoints().stream()
+                .map(endpoint -> new Rule(endpoint,
+                        new GcraRateLimiter(endpoint.getRequests(), endpoint.getPeriod(), endpoint.getBurst(),
+                                properties.getMaxTrackedUsers()),
+                        Counter.builder("rate.limit.rejected")
+                                .tag("path", endpoint.getPath())
+                                .description("Requests rejected with 429 by the per-user rate limiter")
+                                .register(meterRegistry)))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return findRule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Rule rule = findRule(request);
+        String workosUserId = request.getHeader(HEADER_WORKOS_USER_ID);
+        String key = workosUserId != null && !workosUserId.isEmpty() ? workosUserId : request.getRemoteAddr();
+
+        long retryAfterNanos = rule.limiter().tryAcquire(key);
+        if (retryAfterNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejected().increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+        log.debug("Rate limited {} on {} for {}s", key, rule.endpoint().getPath(), retryAfterSeconds);
+
+        ErrorDetails errorDetails = new ErrorDetails();
+        errorDetails.setError("Too many requests");
+        errorDetails.setMessage("Rate limit of " + rule.endpoint().getRequests() + " requests per "
+                + rule.endpoint().getPeriod() + " exceeded, retry after " + retryAfterSeconds + "s");
+        BaseResponse<Void> body = new BaseResponse<>();
+        body.setStatus(FAILURE);
+        body.setErrors(Collections.singletonList(errorDetails));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private Rule findRule(HttpServletRequest request) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : rules) {
+            RateLimitProperties.Endpoint endpoint = rule.endpoint();
+            if (endpoint.getPath().equals(path)
+                    && (endpoint.getMethod() == null || endpoint.getMethod().equalsIgnoreCase(request.getMethod()))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private record Rule(RateLimitProperties.Endpoint endpoint, GcraRateLimiter limiter, Counter rejected) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.operationly.usermanagement.filter;
+
+import com.operationly.usermanagement.datasource.DataSourceRoutingContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.HEADER_WORKOS_USER_ID;
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.PARAM_WORKOS_USER_ID;
+
+/**
+ * Exposes the WorkOS user of the current request to the data source routing layer.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String workosUserId = request.getHeader(HEADER_WORKOS_USER_ID);
+        if (workosUserId == null) {
+            workosUserId = request.getParameter(PARAM_WORKOS_USER_ID);
+        }
+
+        DataSourceRoutingContext.setWorkosUserId(workosUserId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRoutingContext.clear();
+        }
+    }
+}
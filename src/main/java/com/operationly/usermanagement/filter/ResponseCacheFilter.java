@@ -0,0 +1,121 @@
+package com.operationly.usermanagement.filter;
+
+import com.operationly.usermanagement.responsecache.CachedResponse;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static com.operationly.usermanagement.constants.UserConstants.SecurityConstants.HEADER_WORKOS_USER_ID;
+
+/**
+ * Serves GET /api/v1/organizations/{orgId} and GET /api/v1/users/me from {@link ResponseCache}
+ * when enabled. A hit copies the stored bytes to the output stream without reaching the controller,
+ * or answers 304 when If-None-Match carries its ETag. A miss runs the request and stores the body
+ * of a 200 response.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations/";
+    private static final String USER_ME_PATH = "/api/v1/users/me";
+    private static final int ETAG_HASH_BYTES = 16;
+
+    private final ResponseCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !responseCache.isEnabled() || !HttpMethod.GET.matches(request.getMethod()) || cacheKey(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String key = cacheKey(request);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        ResponseCache.Ticket ticket = responseCache.ticket(key);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() != HttpStatus.OK.value()) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = responseWrapper.getContentAsByteArray();
+        CachedResponse rendered = new CachedResponse(body, responseWrapper.getContentType(), etag(body));
+        responseCache.put(ticket, rendered);
+        responseWrapper.setHeader(HttpHeaders.ETAG, rendered.etag());
+        if (rendered.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            responseWrapper.resetBuffer();
+            responseWrapper.setStatus(HttpStatus.NOT_MODIFIED.value());
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        if (cached.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    /**
+     * @return The cache key of a cacheable request, or null
+     */
+    private static String cacheKey(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (USER_ME_PATH.equals(path)) {
+            String workosUserId = request.getHeader(HEADER_WORKOS_USER_ID);
+            return workosUserId == null || workosUserId.isEmpty() ? null : ResponseCache.userKey(workosUserId);
+        }
+        if (path.startsWith(ORGANIZATION_PATH) && path.indexOf('/', ORGANIZATION_PATH.length()) < 0) {
+            try {
+                return ResponseCache.organizationKey(UUID.fromString(path.substring(ORGANIZATION_PATH.length())));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(hash, ETAG_HASH_BYTES)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.operationly.usermanagement.idempotency;
+
+/**
+ * A stored Idempotency-Key entry. Until the first execution finishes only the request hash is set.
+ *
+ * @param requestHash    SHA-256 of the request the key was first used with
+ * @param completed      Whether the response has been stored
+ * @param responseStatus HTTP status of the stored response
+ * @param contentType    Content type of the stored response
+ * @param responseBody   Body of the stored response
+ */
+public record IdempotencyRecord(
+        byte[] requestHash,
+        boolean completed,
+        int responseStatus,
+        String contentType,
+        byte[] responseBody) {
+}
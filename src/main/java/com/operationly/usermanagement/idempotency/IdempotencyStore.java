@@ -0,0 +1,229 @@
+package com.operationly.usermanagement.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.operationly.usermanagement.config.IdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key records kept in PostgreSQL so every instance sees them, with an in-memory front
+ * cache for completed responses. A key is claimed by inserting an IN_PROGRESS row with a fresh
+ * claim token, whose {@code expires_at} acts as a lease; completing it stores the response and
+ * extends {@code expires_at} to the TTL. The instance running a request renews its lease until the
+ * request finishes, so only the claims of a dead instance expire and can be claimed again. Completing
+ * and releasing require the claim token, so a request whose claim was taken over cannot touch the
+ * new one. Expired rows are purged periodically.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+    private static final int PURGE_BATCH_SIZE = 5_000;
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status, response_status, content_type, response_body
+            FROM idempotency_record
+            WHERE owner = ? AND idempotency_key = ? AND expires_at >= now()""";
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_record (owner, idempotency_key, request_hash, status, claim_token, created_at, expires_at)
+            VALUES (?, ?, ?, 'IN_PROGRESS', ?, now(), now() + make_interval(secs => ?))
+            ON CONFLICT (owner, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash, status = EXCLUDED.status, response_status = NULL,
+                content_type = NULL, response_body = NULL, claim_token = EXCLUDED.claim_token,
+                created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+            WHERE idempotency_record.expires_at < now()""";
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_record
+            SET status = 'COMPLETED', response_status = ?, content_type = ?, response_body = ?,
+                expires_at = now() + make_interval(secs => ?)
+            WHERE owner = ? AND idempotency_key = ? AND claim_token = ? AND status = 'IN_PROGRESS'""";
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM idempotency_record
+            WHERE owner = ? AND idempotency_key = ? AND claim_token = ? AND status = 'IN_PROGRESS'""";
+
+    private static final String RENEW_SQL = """
+            UPDATE idempotency_record SET expires_at = now() + make_interval(secs => ?)
+            WHERE claim_token = ANY(?) AND status = 'IN_PROGRESS'""";
+
+    private static final String PURGE_SQL = """
+            DELETE FROM idempotency_record WHERE ctid IN (
+                SELECT ctid FROM idempotency_record WHERE expires_at < now() LIMIT ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotencyRecord> completedResponses;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> localExecutions = new ConcurrentHashMap<>();
+    /** Tokens of the claims held by requests running on this instance, whose leases are renewed. */
+    private final Set<UUID> heldClaims = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Finds the live record for a key, checking the front cache before the database.
+     *
+     * @param owner The WorkOS user the key belongs to
+     * @param key   The Idempotency-Key header value
+     * @return The record, or null if the key is unused or expired
+     */
+    public IdempotencyRecord find(String owner, String key) {
+        IdempotencyRecord cached = completedResponses.getIfPresent(cacheKey(owner, key));
+        if (cached != null) {
+            return cached;
+        }
+        List<IdempotencyRecord> records = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new IdempotencyRecord(
+                rs.getBytes("request_hash"),
+                COMPLETED.equals(rs.getString("status")),
+                rs.getInt("response_status"),
+                rs.getString("content_type"),
+                rs.getBytes("response_body")), owner, key);
+        if (records.isEmpty()) {
+            return null;
+        }
+        IdempotencyRecord record = records.get(0);
+        if (record.completed()) {
+            completedResponses.put(cacheKey(owner, key), record);
+        }
+        return record;
+    }
+
+    /**
+     * Claims a key for execution. Fails if another request holds a live claim or completed response.
+     * The lease is renewed until the claim is completed or released.
+     *
+     * @param owner       The WorkOS user the key belongs to
+     * @param key         The Idempotency-Key header value
+     * @param requestHash Hash of the request being executed
+     * @return The claim token if this caller now owns the key and must complete or release it, else null
+     */
+    public UUID tryClaim(String owner, String key, byte[] requestHash) {
+        UUID claimToken = UUID.randomUUID();
+        boolean claimed = jdbcTemplate.update(CLAIM_SQL, owner, key, requestHash, claimToken,
+                properties.getInProgressTimeout().toSeconds()) == 1;
+        if (!claimed) {
+            return null;
+        }
+        heldClaims.add(claimToken);
+        localExecutions.put(cacheKey(owner, key), new CompletableFuture<>());
+        return claimToken;
+    }
+
+    /**
+     * Stores the response of a claimed key and wakes up local duplicates. Does nothing to the record
+     * if the claim is no longer the current one.
+     */
+    public void complete(String owner, String key, UUID claimToken, byte[] requestHash, int status,
+                         String contentType, byte[] body) {
+        heldClaims.remove(claimToken);
+        try {
+            if (jdbcTemplate.update(COMPLETE_SQL, status, contentType, body, properties.getTtl().toSeconds(),
+                    owner, key, claimToken) == 1) {
+                completedResponses.put(cacheKey(owner, key),
+                        new IdempotencyRecord(requestHash, true, status, contentType, body));
+            } else {
+                log.warn("Idempotency key {} was claimed again before its response was stored", key);
+            }
+        } finally {
+            signal(owner, key);
+        }
+    }
+
+    /**
+     * Gives up a claimed key without a response, so the next retry executes again. Leaves a newer
+     * claim of the key alone.
+     */
+    public void release(String owner, String key, UUID claimToken) {
+        heldClaims.remove(claimToken);
+        try {
+            jdbcTemplate.update(RELEASE_SQL, owner, key, claimToken);
+        } finally {
+            signal(owner, key);
+        }
+    }
+
+    /**
+     * Extends the leases of the claims held by requests still running on this instance.
+     */
+    @Scheduled(fixedDelayString = "${operationly.idempotency.lease-renewal-interval:10s}")
+    public void renewClaims() {
+        if (heldClaims.isEmpty()) {
+            return;
+        }
+        UUID[] claimTokens = heldClaims.toArray(UUID[]::new);
+        jdbcTemplate.update(RENEW_SQL, statement -> {
+            statement.setLong(1, properties.getInProgressTimeout().toSeconds());
+            statement.setArray(2, statement.getConnection().createArrayOf("uuid", claimTokens));
+        });
+    }
+
+    /**
+     * Waits for the execution holding a key to finish. Executions on this instance are awaited
+     * directly; for ones on other instances the caller simply sleeps and re-reads the database.
+     *
+     * @param owner         The WorkOS user the key belongs to
+     * @param key           The Idempotency-Key header value
+     * @param timeoutMillis Upper bound on the wait
+     */
+    public void awaitCompletion(String owner, String key, long timeoutMillis) throws InterruptedException {
+        CompletableFuture<Void> execution = localExecutions.get(cacheKey(owner, key));
+        if (execution == null) {
+            Thread.sleep(timeoutMillis);
+            return;
+        }
+        try {
+            execution.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Either way the caller re-reads the record
+        }
+    }
+
+    /**
+     * Deletes expired records in batches.
+     */
+    @Scheduled(fixedDelayString = "${operationly.idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        int purged = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(PURGE_SQL, PURGE_BATCH_SIZE);
+            purged += batch;
+        } while (batch == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private void signal(String owner, String key) {
+        CompletableFuture<Void> execution = localExecutions.remove(cacheKey(owner, key));
+        if (execution != null) {
+            execution.complete(null);
+        }
+    }
+
+    private static String cacheKey(String owner, String key) {
+        return owner + '\n' + key;
+    }
+}
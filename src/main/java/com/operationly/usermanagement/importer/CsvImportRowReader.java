@@ -0,0 +1,138 @@
+package com.operationly.usermanagement.importer;
+
+import com.operationly.usermanagement.exception.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV reader. The first record is a header naming the columns
+ * {@code workos_user_id, email, first_name, last_name, email_verified, role} in any order;
+ * only {@code workos_user_id} and {@code email} are required. Rows are numbered by the physical
+ * line they start on, counting the header and line breaks inside quoted fields.
+ */
+public class CsvImportRowReader implements ImportRowReader {
+
+    private static final String WORKOS_USER_ID = "workos_user_id";
+    private static final String EMAIL = "email";
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    /** Physical line the reader is positioned on. */
+    private long line = 1;
+    /** Physical line the last record read started on. */
+    private long recordLine;
+
+    public CsvImportRowReader(InputStream input) throws IOException {
+        this.reader = ImportReaders.openUtf8(input);
+        List<String> header;
+        try {
+            header = readRecord();
+        } catch (ImportRowException e) {
+            throw new BusinessException("Invalid CSV header", "CSV header: " + e.getMessage());
+        }
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey(WORKOS_USER_ID) || !columns.containsKey(EMAIL)) {
+            throw new BusinessException("Invalid CSV header",
+                    "CSV header must contain " + WORKOS_USER_ID + " and " + EMAIL);
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        if (record.size() != columns.size()) {
+            throw new ImportRowException(recordLine,
+                    "Expected " + columns.size() + " columns but found " + record.size());
+        }
+        return new ImportRow(recordLine,
+                column(record, WORKOS_USER_ID),
+                column(record, EMAIL),
+                column(record, "first_name"),
+                column(record, "last_name"),
+                column(record, "email_verified"),
+                column(record, "role"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String column(List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one record, honouring quoted fields that contain separators, quotes or line breaks.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else if (c == '\n') {
+                    line++;
+                    field.append('\n');
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new ImportRowException(recordLine, "Unterminated quoted field");
+        }
+        record.add(field.toString());
+        return record;
+    }
+}
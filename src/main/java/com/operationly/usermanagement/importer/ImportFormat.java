@@ -0,0 +1,37 @@
+package com.operationly.usermanagement.importer;
+
+import com.operationly.usermanagement.exception.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import static com.operationly.usermanagement.constants.UserConstants.TEXT_CSV;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportFormat {
+    CSV(TEXT_CSV),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE);
+
+    private final String contentType;
+
+    /**
+     * Resolves the import format from a request content type, ignoring parameters such as charset.
+     *
+     * @param contentType The Content-Type header value
+     * @return The matching format
+     * @throws BusinessException if the content type is not supported
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(format.contentType))) {
+                    return format;
+                }
+            }
+        }
+        throw new BusinessException("Unsupported import content type",
+                "Content-Type must be " + TEXT_CSV + " or " + MediaType.APPLICATION_NDJSON_VALUE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.operationly.usermanagement.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Opening of import inputs shared by the readers.
+ */
+final class ImportReaders {
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private ImportReaders() {
+    }
+
+    /**
+     * Opens the input as UTF-8, skipping the byte order mark that spreadsheet exports often start with.
+     */
+    static BufferedReader openUtf8(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        reader.mark(1);
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+        return reader;
+    }
+}
@@ -0,0 +1,16 @@
+package com.operationly.usermanagement.importer;
+
+/**
+ * One raw, unvalidated row of a member import.
+ *
+ * @param lineNumber 1-based line of the input the record starts on
+ */
+public record ImportRow(
+        long lineNumber,
+        String workosUserId,
+        String email,
+        String firstName,
+        String lastName,
+        String emailVerified,
+        String role) {
+}
@@ -0,0 +1,17 @@
+package com.operationly.usermanagement.importer;
+
+import lombok.Getter;
+
+/**
+ * A single input record could not be parsed. Readers throw it and stay positioned on the next record.
+ */
+@Getter
+public class ImportRowException extends RuntimeException {
+
+    private final long lineNumber;
+
+    public ImportRowException(long lineNumber, String message) {
+        super(message, null, false, false);
+        this.lineNumber = lineNumber;
+    }
+}
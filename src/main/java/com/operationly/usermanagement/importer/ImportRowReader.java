@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams import rows from an input without buffering the whole payload.
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * Reads the next row.
+     *
+     * @return The next row, or null at the end of the input
+     * @throws ImportRowException if the next record is malformed; reading may continue afterwards
+     * @throws IOException if the underlying stream fails
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,64 @@
+package com.operationly.usermanagement.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Newline-delimited JSON reader. Each line is an object with the fields
+ * {@code workosUserId, email, firstName, lastName, emailVerified, role}.
+ */
+public class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    public NdjsonImportRowReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+        this.reader = ImportReaders.openUtf8(input);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new ImportRowException(lineNumber, "Expected a JSON object");
+        }
+        return new ImportRow(lineNumber,
+                text(node, "workosUserId"),
+                text(node, "email"),
+                text(node, "firstName"),
+                text(node, "lastName"),
+                text(node, "emailVerified"),
+                text(node, "role"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
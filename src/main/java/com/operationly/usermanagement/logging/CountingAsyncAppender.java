@@ -0,0 +1,50 @@
+package com.operationly.usermanagement.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops. Logback drops silently in two places:
+ * events at INFO and below once the queue is nearly full (the discarding threshold), and, with
+ * neverBlock, any event that finds the queue full. The second count is approximate, since the
+ * queue can fill between the check and the offer.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only consulted once the queue is below the discarding threshold
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0 && isStarted()) {
+            rejected.increment();
+        }
+        super.append(event);
+    }
+
+    /**
+     * @return Events dropped by the discarding threshold
+     */
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * @return Events dropped because the queue was full
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,60 @@
+package com.operationly.usermanagement.logging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets one log line per key through each interval and counts the ones held back, so the next line
+ * that passes can report how many similar lines were suppressed.
+ */
+public class LogRateLimiter {
+
+    private static final int MAX_KEYS = 1_000;
+
+    private final Cache<String, Window> windows;
+    private final long intervalNanos;
+    private final LongSupplier clock;
+
+    public LogRateLimiter(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    LogRateLimiter(Duration interval, LongSupplier clock) {
+        this.intervalNanos = interval.toNanos();
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(MAX_KEYS)
+                .expireAfterAccess(interval.multipliedBy(10))
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    /**
+     * @param key Groups similar lines
+     * @return -1 if the line should be suppressed; otherwise the number of lines suppressed for the
+     * key since the last one that passed
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Window window = windows.get(key, k -> new Window(now));
+        long next = window.nextAllowedNanos.get();
+        if (now - next >= 0 && window.nextAllowedNanos.compareAndSet(next, now + intervalNanos)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowedNanos;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long now) {
+            this.nextAllowedNanos = new AtomicLong(now);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.operationly.usermanagement.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.operationly.usermanagement.config.KnownUserFilterProperties;
+import com.operationly.usermanagement.datasource.DataSourceRoutingContext;
+import com.operationly.usermanagement.datasource.Workload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers "this workos_user_id does not exist" without a query. A Bloom filter of every known
+ * workos_user_id is built from user_account once the application is ready, extended with users
+ * this instance creates, and topped up every refresh interval with rows inserted by any instance.
+ * IDs confirmed missing by a query are remembered in a short-lived negative cache. Until the first
+ * load finishes nothing is reported missing, so callers query the database as before.
+ * <p>
+ * Ids are allocated when a row is inserted but become visible when its transaction commits, so a
+ * slow transaction such as an import can commit rows below ids another refresh already read past.
+ * Each refresh therefore reads from a commit-safe floor rather than from the highest id seen: the
+ * highest id of an earlier refresh whose snapshot every transaction still running started after.
+ * Such transactions can only hold ids above that floor. The floor trails the watermark only while
+ * a writing transaction is open, and by at most the rows inserted since it began.
+ * <p>
+ * The filter is rebuilt from scratch once it holds more users than it was sized for, which keeps
+ * the false positive rate near its target. Refreshes and rebuilds are single-flight: a tick that
+ * finds one still running is skipped.
+ */
+@Component
+@Slf4j
+public class KnownUserGuard {
+
+    private static final int FETCH_SIZE = 10_000;
+    /** Refresh snapshots kept while a long transaction holds the floor back; later ones are not recorded. */
+    private static final int MAX_PENDING_SNAPSHOTS = 4_096;
+    private static final String SNAPSHOT_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS oldest_running, "
+            + "pg_snapshot_xmax(pg_current_snapshot())::text::bigint AS next_xid";
+    private static final String PROBE_SQL = "SELECT pg_snapshot_xmax(pg_current_snapshot())::text::bigint AS next_xid, "
+            + "COALESCE(max(id), 0) AS max_id FROM user_account";
+    private static final String COUNT_SQL = "SELECT count(*) FROM user_account";
+    private static final String LOAD_SQL = "SELECT id, workos_user_id FROM user_account";
+    private static final String RECENT_SQL = "SELECT id, workos_user_id FROM user_account WHERE id > ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    /** Repeatable read, so the snapshot bounds and the rows read come from one snapshot. */
+    private final TransactionTemplate snapshotTransaction;
+    private final KnownUserFilterProperties properties;
+    private final Cache<String, Boolean> knownMissing;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Counter filterRejections;
+    private final Counter negativeCacheRejections;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+    /** Highest user_account id seen; guarded by refreshLock. */
+    private long watermark;
+    /** Refreshes read user_account from above this id; every committed row at or below it is in the filter. Guarded by refreshLock. */
+    private long floor;
+    /** Refreshes not yet known to be older than every running transaction, oldest first; guarded by refreshLock. */
+    private final Deque<RefreshSnapshot> pendingSnapshots = new ArrayDeque<>();
+    /** Users added to the current filter; guarded by refreshLock. */
+    private long insertions;
+
+    public KnownUserGuard(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          KnownUserFilterProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.knownMissing = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeCacheMaximumSize())
+                .expireAfterWrite(properties.getNegativeCacheTtl())
+                .build();
+        this.filterRejections = meterRegistry.counter("user.lookup.rejected", "source", "filter");
+        this.negativeCacheRejections = meterRegistry.counter("user.lookup.rejected", "source", "negative_cache");
+        meterRegistry.gauge("user.lookup.filter.bytes", this,
+                guard -> guard.filter != null ? guard.filter.footprintBytes() : 0);
+    }
+
+    /**
+     * Checks whether a workos_user_id is known not to exist.
+     *
+     * @param workosUserId The WorkOS user ID
+     * @return true if the user definitely does not exist; false if it may
+     */
+    public boolean isKnownMissing(String workosUserId) {
+        if (!properties.isEnabled() || workosUserId == null) {
+            return false;
+        }
+        if (knownMissing.getIfPresent(workosUserId) != null) {
+            negativeCacheRejections.increment();
+            return true;
+        }
+        if (ready && !filter.mightContain(workosUserId)) {
+            filterRejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers a workos_user_id that a query did not find.
+     */
+    public void recordMissing(String workosUserId) {
+        if (properties.isEnabled() && workosUserId != null) {
+            knownMissing.put(workosUserId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Marks a workos_user_id as existing. Called before the insert commits; if it rolls back, the
+     * filter only gains a false positive.
+     */
+    public void recordCreated(String workosUserId) {
+        knownMissing.invalidate(workosUserId);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(workosUserId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Adds users inserted since the last refresh, or rebuilds the filter if it is not loaded yet or
+     * has outgrown its sizing.
+     */
+    @Scheduled(initialDelayString = "${operationly.known-users.refresh-interval:2s}",
+            fixedDelayString = "${operationly.known-users.refresh-interval:2s}")
+    public void refresh() {
+        if (!properties.isEnabled() || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!ready || insertions > filter.expectedInsertions()) {
+                rebuild();
+            } else {
+                addRecent();
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh the known user filter", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        long startNanos = System.nanoTime();
+        BloomFilter loaded = DataSourceRoutingContext.callWithWorkload(Workload.BULK, () -> {
+            // Taken just before the load, so the first refresh after it usually reads only newer rows
+            RefreshSnapshot probe = jdbcTemplate.queryForObject(PROBE_SQL, (resultSet, rowNum) ->
+                    new RefreshSnapshot(resultSet.getLong("next_xid"), resultSet.getLong("max_id")));
+            return snapshotTransaction.execute(status -> load(probe));
+        });
+        filter = loaded;
+        ready = true;
+        log.info("Loaded {} users into the known user filter ({} KiB) in {} ms", insertions,
+                loaded.footprintBytes() / 1024, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private BloomFilter load(RefreshSnapshot probe) {
+        TransactionBounds bounds = transactionBounds();
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        long expected = Math.max(properties.getMinExpectedUsers(), 2 * (count == null ? 0 : count));
+        BloomFilter loaded = new BloomFilter(expected, properties.getFalsePositiveRate());
+        watermark = 0;
+        floor = 0;
+        insertions = 0;
+        pendingSnapshots.clear();
+        pendingSnapshots.addLast(probe);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOAD_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            loaded.put(resultSet.getString("workos_user_id"));
+            watermark = Math.max(watermark, resultSet.getLong("id"));
+            insertions++;
+        });
+        advanceFloor(bounds);
+        return loaded;
+    }
+
+    private void addRecent() {
+        BloomFilter current = filter;
+        DataSourceRoutingContext.callWithWorkload(Workload.READ, () -> snapshotTransaction.execute(status -> {
+            TransactionBounds bounds = transactionBounds();
+            jdbcTemplate.query(RECENT_SQL, resultSet -> {
+                long id = resultSet.getLong("id");
+                String workosUserId = resultSet.getString("workos_user_id");
+                current.put(workosUserId);
+                knownMissing.invalidate(workosUserId);
+                if (id > watermark) {
+                    watermark = id;
+                    insertions++;
+                }
+            }, floor);
+            advanceFloor(bounds);
+            return null;
+        }));
+    }
+
+    private TransactionBounds transactionBounds() {
+        return jdbcTemplate.queryForObject(SNAPSHOT_SQL, (resultSet, rowNum) ->
+                new TransactionBounds(resultSet.getLong("oldest_running"), resultSet.getLong("next_xid")));
+    }
+
+    /**
+     * Called once every row visible in the current snapshot is in the filter. Rows that are not visible
+     * yet belong to transactions at or above {@code oldestRunning}; an earlier refresh whose snapshot
+     * no such transaction predates saw only ids allocated before any of them, so its watermark is a
+     * safe floor for the next refresh.
+     */
+    private void advanceFloor(TransactionBounds bounds) {
+        if ((pendingSnapshots.isEmpty() || pendingSnapshots.peekLast().watermark() < watermark)
+                && pendingSnapshots.size() < MAX_PENDING_SNAPSHOTS) {
+            pendingSnapshots.addLast(new RefreshSnapshot(bounds.nextXid(), watermark));
+        }
+        while (!pendingSnapshots.isEmpty() && pendingSnapshots.peekFirst().nextXid() <= bounds.oldestRunning()) {
+            floor = Math.max(floor, pendingSnapshots.pollFirst().watermark());
+        }
+    }
+
+    /**
+     * Transaction ids of a snapshot: every transaction below {@code oldestRunning} has finished, and
+     * every one at or above {@code nextXid} started after the snapshot was taken.
+     */
+    private record TransactionBounds(long oldestRunning, long nextXid) {
+    }
+
+    private record RefreshSnapshot(long nextXid, long watermark) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.operationly.usermanagement.membership;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Maintains organization.members_version, a counter bumped once per set-based membership write.
+ * Caches and ETags derived from an organization's members compare it instead of tracking single
+ * rows. It is written with plain JDBC so Hibernate does not treat it as a bulk update and clear
+ * the organization cache regions.
+ */
+@Component
+@RequiredArgsConstructor
+public class MembersVersion {
+
+    private static final String LOCK_SQL =
+            "SELECT members_version FROM organization WHERE organization_id = ? FOR UPDATE";
+    private static final String BUMP_SQL =
+            "UPDATE organization SET members_version = members_version + 1 WHERE organization_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the organization row until the transaction ends, serializing membership batches of the
+     * same organization.
+     *
+     * @param organizationId The organization ID
+     * @return The current members_version, or null if the organization does not exist
+     */
+    public Long lock(UUID organizationId) {
+        return jdbcTemplate.queryForList(LOCK_SQL, Long.class, organizationId).stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Increments members_version within the current transaction.
+     *
+     * @param organizationId The organization ID
+     */
+    public void bump(UUID organizationId) {
+        jdbcTemplate.update(BUMP_SQL, organizationId);
+    }
+}
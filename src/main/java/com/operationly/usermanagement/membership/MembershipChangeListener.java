@@ -0,0 +1,180 @@
+package com.operationly.usermanagement.membership;
+
+import com.operationly.usermanagement.config.MembershipIndexProperties;
+import com.operationly.usermanagement.entity.Role;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link MembershipIndex} of every instance in step with user_organization. A trigger
+ * installed by changelog 013 sends a NOTIFY on {@value #CHANNEL} for every changed row, with
+ * {@code organization_id:user_id} as payload, when the writing transaction commits. This listener
+ * holds one dedicated connection to the primary outside the pools, re-reads the roles of the
+ * notified memberships there and applies them to the index.
+ * <p>
+ * Notifications sent while no connection is listening are lost, so the index is loaded again after
+ * every connect and is not answered from while disconnected. The first connect happens on
+ * {@code ApplicationReadyEvent}, before the instance reports ready; the connection is then polled on
+ * a daemon thread, which reconnects after failures.
+ */
+@Component
+@Slf4j
+public class MembershipChangeListener {
+
+    static final String CHANNEL = "user_organization_changed";
+    private static final int POLL_MILLIS = 500;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+    private static final String ROLES_SQL =
+            "SELECT user_id, role FROM user_organization WHERE organization_id = ? AND user_id = ANY(?)";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final MembershipIndexManager membershipIndexManager;
+    private final boolean enabled;
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public MembershipChangeListener(DataSourceProperties dataSourceProperties,
+                                    MembershipIndexManager membershipIndexManager,
+                                    MembershipIndexProperties properties) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.membershipIndexManager = membershipIndexManager;
+        this.enabled = properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Connection connection = connectOrNull();
+        poller = new Thread(() -> run(connection), "membership-change-listener");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+            poller.join(RECONNECT_DELAY.toMillis());
+        }
+    }
+
+    private void run(Connection initial) {
+        Connection connection = initial;
+        while (running) {
+            if (connection != null) {
+                try (Connection listening = connection) {
+                    poll(listening);
+                } catch (SQLException | RuntimeException e) {
+                    if (running) {
+                        log.warn("Membership change listener disconnected, role checks use the database until it reconnects: {}",
+                                e.getMessage());
+                    }
+                } finally {
+                    membershipIndexManager.listenerDisconnected();
+                }
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            connection = running ? connectOrNull() : null;
+        }
+    }
+
+    /**
+     * Opens the connection, starts listening and loads the index, in that order, so no change
+     * committed after the load began can be missed.
+     *
+     * @return The listening connection, or null if connecting failed
+     */
+    private Connection connectOrNull() {
+        Connection connection = null;
+        try {
+            connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            membershipIndexManager.listenerConnected();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Membership change listener could not connect, role checks use the database: {}", e.getMessage());
+            closeQuietly(connection);
+            return null;
+        }
+    }
+
+    private void poll(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+            if (notifications == null || notifications.length == 0) {
+                continue;
+            }
+            Map<UUID, Set<Long>> changed = new LinkedHashMap<>();
+            for (PGNotification notification : notifications) {
+                String payload = notification.getParameter();
+                int separator = payload.indexOf(':');
+                changed.computeIfAbsent(UUID.fromString(payload.substring(0, separator)), id -> new LinkedHashSet<>())
+                        .add(Long.parseLong(payload.substring(separator + 1)));
+            }
+            for (Map.Entry<UUID, Set<Long>> organization : changed.entrySet()) {
+                membershipIndexManager.applyChanges(organization.getKey(), organization.getValue(),
+                        roles(connection, organization.getKey(), organization.getValue()));
+            }
+        }
+    }
+
+    private static Map<Long, Role> roles(Connection connection, UUID organizationId, Set<Long> userIds)
+            throws SQLException {
+        Map<Long, Role> roles = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(ROLES_SQL)) {
+            statement.setObject(1, organizationId);
+            statement.setArray(2, connection.createArrayOf("bigint", userIds.toArray(Long[]::new)));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    roles.put(resultSet.getLong("user_id"), Role.valueOf(resultSet.getString("role")));
+                }
+            }
+        }
+        return roles;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close the membership change listener connection", e);
+        }
+    }
+}
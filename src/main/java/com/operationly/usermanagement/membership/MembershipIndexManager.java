@@ -0,0 +1,255 @@
+package com.operationly.usermanagement.membership;
+
+import com.operationly.usermanagement.config.MembershipIndexProperties;
+import com.operationly.usermanagement.datasource.DataSourceRoutingContext;
+import com.operationly.usermanagement.datasource.Workload;
+import com.operationly.usermanagement.entity.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Owns the {@link MembershipIndex}. {@link MembershipChangeListener} keeps it in step with writes
+ * made by any instance; the index is loaded whenever the listener connects and is only answered from
+ * while the listener stays connected, so a hit never reflects a membership changed more than a
+ * notification ago. Until then, and after a disconnect, every lookup misses and callers fall back to
+ * the database. A periodic full reload compacts the index and is a safety net for lost notifications.
+ * <p>
+ * This instance's batch writes only evict the memberships they touched once their transaction
+ * commits; the notification then puts back what the database holds. Every change bumps a change
+ * count, so a role read from the database on a miss is only recorded if nothing changed meanwhile.
+ */
+@Component
+@Slf4j
+public class MembershipIndexManager {
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final String COUNT_SQL = "SELECT count(*) FROM user_organization";
+    private static final String LOAD_SQL = "SELECT user_id, organization_id, role FROM user_organization";
+
+    private final JdbcTemplate jdbcTemplate;
+    /** Not read-only, so loads never go to a replica that may lag behind the change notifications. */
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+
+    private volatile MembershipIndex index = new MembershipIndex();
+    private volatile boolean ready;
+    /** Changes applied to the index; guarded by this. */
+    private long changes;
+    private boolean listening;
+    /** Bumped on every listener connect and disconnect; a reload only marks the index ready if it did not move. Guarded by this. */
+    private long listenerGeneration;
+    /** Writes made while a reload is running, replayed onto the new index before it is swapped in. */
+    private List<Consumer<MembershipIndex>> writesDuringReload;
+
+    public MembershipIndexManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  MembershipIndexProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.isEnabled();
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("membership.index.size", this, manager -> manager.index.size());
+        meterRegistry.gauge("membership.index.bytes", this, manager -> manager.index.footprintBytes());
+    }
+
+    /**
+     * Looks up a role in the index.
+     *
+     * @param userId         The user_account id
+     * @param organizationId The organization ID
+     * @return The role, or null when the user is not indexed as a member or the index is not loaded
+     */
+    public Role findRole(long userId, UUID organizationId) {
+        return ready ? index.role(userId, organizationId) : null;
+    }
+
+    /**
+     * Returns the number of changes applied so far, to be passed to
+     * {@link #recordLookup(long, UUID, Role, long)} after reading a role from the database.
+     */
+    public synchronized long changeCount() {
+        return changes;
+    }
+
+    /**
+     * Adds a membership this instance just created to the index once the surrounding transaction
+     * commits.
+     */
+    public void recordMembership(long userId, UUID organizationId, Role role) {
+        afterCommit(() -> apply(membershipIndex -> membershipIndex.put(userId, organizationId, role)));
+    }
+
+    /**
+     * Adds a role read from the database after a miss, once the surrounding transaction commits,
+     * unless any change reached the index since {@code changeCount} was taken: the role may then
+     * have been changed or removed after it was read.
+     *
+     * @param changeCount {@link #changeCount()} taken before the database read
+     */
+    public void recordLookup(long userId, UUID organizationId, Role role, long changeCount) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (changes == changeCount) {
+                    apply(membershipIndex -> membershipIndex.put(userId, organizationId, role));
+                }
+            }
+        });
+    }
+
+    /**
+     * Evicts memberships of one organization once the surrounding transaction commits. Lookups miss
+     * until the change notification puts back the committed roles.
+     *
+     * @param organizationId The organization ID
+     * @param userIds        user_account ids whose membership changed
+     */
+    public void evictMembershipsAfterCommit(UUID organizationId, Collection<Long> userIds) {
+        afterCommit(() -> apply(membershipIndex ->
+                userIds.forEach(userId -> membershipIndex.remove(userId, organizationId))));
+    }
+
+    /**
+     * Applies memberships re-read after a change notification.
+     *
+     * @param organizationId The organization ID
+     * @param userIds        user_account ids whose membership changed
+     * @param roles          Their current roles; users missing from it are no longer members
+     */
+    public void applyChanges(UUID organizationId, Collection<Long> userIds, Map<Long, Role> roles) {
+        apply(membershipIndex -> userIds.forEach(userId -> {
+            Role role = roles.get(userId);
+            if (role != null) {
+                membershipIndex.put(userId, organizationId, role);
+            } else {
+                membershipIndex.remove(userId, organizationId);
+            }
+        }));
+    }
+
+    /**
+     * Called once the change listener is listening: loads the index, which is trusted from then on.
+     */
+    public void listenerConnected() {
+        synchronized (this) {
+            listening = true;
+            listenerGeneration++;
+        }
+        reload();
+    }
+
+    /**
+     * Called when the change listener lost its connection: notifications may be missed from now on,
+     * so lookups fall back to the database until it reconnects and the index is reloaded.
+     */
+    public synchronized void listenerDisconnected() {
+        if (listening) {
+            listening = false;
+            listenerGeneration++;
+            ready = false;
+        }
+    }
+
+    /**
+     * Builds a new index from user_organization off to the side and swaps it in. It is only answered
+     * from if the change listener stayed connected throughout.
+     */
+    @Scheduled(initialDelayString = "${operationly.membership-index.refresh-interval:5m}",
+            fixedDelayString = "${operationly.membership-index.refresh-interval:5m}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        long generation;
+        synchronized (this) {
+            if (!listening) {
+                return;
+            }
+            writesDuringReload = new ArrayList<>();
+            generation = listenerGeneration;
+        }
+        try {
+            long startNanos = System.nanoTime();
+            MembershipIndex loaded = DataSourceRoutingContext.callWithWorkload(Workload.BULK,
+                    () -> loadTransaction.execute(status -> load()));
+            synchronized (this) {
+                writesDuringReload.forEach(write -> write.accept(loaded));
+                index = loaded;
+                ready = listening && generation == listenerGeneration;
+            }
+            log.info("Loaded {} memberships into the membership index ({} KiB) in {} ms", loaded.size(),
+                    loaded.footprintBytes() / 1024, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to load the membership index, role checks will use the database", e);
+        } finally {
+            synchronized (this) {
+                writesDuringReload = null;
+            }
+        }
+    }
+
+    private MembershipIndex load() {
+        Long expected = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        MembershipIndex loaded = new MembershipIndex(expected == null ? 0 : (int) Math.min(expected, Integer.MAX_VALUE / 2));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOAD_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            readMembership(resultSet).putInto(loaded);
+        });
+        return loaded;
+    }
+
+    private synchronized void apply(Consumer<MembershipIndex> write) {
+        if (!enabled) {
+            return;
+        }
+        changes++;
+        write.accept(index);
+        if (writesDuringReload != null) {
+            writesDuringReload.add(write);
+        }
+    }
+
+    private static Membership readMembership(ResultSet resultSet) throws SQLException {
+        return new Membership(
+                resultSet.getLong("user_id"),
+                resultSet.getObject("organization_id", UUID.class),
+                Role.valueOf(resultSet.getString("role")));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Membership(long userId, UUID organizationId, Role role) {
+        private void putInto(MembershipIndex membershipIndex) {
+            membershipIndex.put(userId, organizationId, role);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.operationly.usermanagement.membership;
+
+import com.operationly.usermanagement.config.PartitionBackfillProperties;
+import com.operationly.usermanagement.datasource.DataSourceRoutingContext;
+import com.operationly.usermanagement.datasource.Workload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Copies existing memberships from user_organization into user_organization_partitioned while the
+ * service keeps running, as step 2 of changelog 011. New writes already reach the copy through the
+ * trigger installed by the changelog; this job copies the rows that existed before it, up to the
+ * target id recorded next to it in user_organization_backfill.
+ * <p>
+ * Each batch copies one id range in its own transaction and records its progress in the same
+ * transaction, so a restart resumes where it stopped. The copied rows are read FOR SHARE: a delete
+ * racing with the batch waits for it and then removes the copy through the trigger, instead of the
+ * batch resurrecting the row. The progress row is locked with SKIP LOCKED, so only one instance
+ * copies at a time. Once the target is reached, the recorded changelog checksum is cleared in the
+ * same transaction as the last batch, so the next deployment runs Liquibase, which swaps the tables.
+ * An instance that finds the backfill already complete clears it again for as long as the tables
+ * have not been swapped, in case an earlier deployment recorded it before noticing.
+ */
+@Component
+@Slf4j
+public class MembershipPartitionBackfill {
+
+    private static final String PROGRESS_SQL = """
+            SELECT last_id, target_id, completed_at IS NOT NULL AS completed
+            FROM user_organization_backfill WHERE id = 1
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String COPY_SQL = """
+            INSERT INTO user_organization_partitioned (id, user_id, organization_id, role, created_at, updated_at)
+            SELECT id, user_id, organization_id, role, created_at, updated_at
+            FROM user_organization
+            WHERE id > ? AND id <= ?
+            FOR SHARE
+            ON CONFLICT (user_id, organization_id) DO NOTHING""";
+
+    private static final String ADVANCE_SQL = """
+            UPDATE user_organization_backfill
+            SET last_id = ?, completed_at = CASE WHEN ? THEN NOW() END
+            WHERE id = 1""";
+
+    private static final String CLEAR_CHECKSUM_SQL = """
+            DELETE FROM changelog_checksum
+            WHERE to_regclass('user_organization_partitioned') IS NOT NULL""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionBackfillProperties properties;
+    private final Counter copiedRows;
+
+    private volatile boolean completed;
+
+    public MembershipPartitionBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       PartitionBackfillProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.copiedRows = meterRegistry.counter("membership.partition.backfill.rows");
+    }
+
+    /**
+     * Copies the next id range, if any is left and no other instance is copying.
+     */
+    @Scheduled(initialDelayString = "${operationly.partition-backfill.interval:200ms}",
+            fixedDelayString = "${operationly.partition-backfill.interval:200ms}")
+    public void copyNextBatch() {
+        if (!properties.isEnabled() || completed) {
+            return;
+        }
+        try {
+            Progress progress = DataSourceRoutingContext.callWithWorkload(Workload.BULK,
+                    () -> transactionTemplate.execute(status -> copyBatch()));
+            if (progress == Progress.FINISHED) {
+                log.info("user_organization backfill complete; the next deployment swaps in the partitioned table");
+            }
+            completed = progress != Progress.PENDING;
+        } catch (RuntimeException e) {
+            log.error("Failed to copy a user_organization batch, retrying on the next tick", e);
+        }
+    }
+
+    private Progress copyBatch() {
+        List<State> rows = jdbcTemplate.query(PROGRESS_SQL, (resultSet, rowNum) -> new State(
+                resultSet.getLong("last_id"), resultSet.getLong("target_id"), resultSet.getBoolean("completed")));
+        if (rows.isEmpty()) {
+            // Another instance holds the progress row
+            return Progress.PENDING;
+        }
+        State state = rows.get(0);
+        if (state.completed()) {
+            jdbcTemplate.update(CLEAR_CHECKSUM_SQL);
+            return Progress.ALREADY_FINISHED;
+        }
+
+        long upperId = Math.min(state.targetId(), state.lastId() + properties.getBatchSize());
+        int copied = jdbcTemplate.update(COPY_SQL, state.lastId(), upperId);
+        boolean finished = upperId >= state.targetId();
+        jdbcTemplate.update(ADVANCE_SQL, upperId, finished);
+        if (finished) {
+            jdbcTemplate.update(CLEAR_CHECKSUM_SQL);
+        }
+        copiedRows.increment(copied);
+        log.debug("Copied {} memberships with ids up to {} of {}", copied, upperId, state.targetId());
+        return finished ? Progress.FINISHED : Progress.PENDING;
+    }
+
+    private record State(long lastId, long targetId, boolean completed) {
+    }
+
+    private enum Progress {
+        PENDING,
+        FINISHED,
+        ALREADY_FINISHED
+    }
+}
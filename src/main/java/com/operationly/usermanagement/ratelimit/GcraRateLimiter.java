@@ -0,0 +1,68 @@
+package com.operationly.usermanagement.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limiter using the generic cell rate algorithm: the whole bucket state of a key is one
+ * long, the theoretical arrival time (TAT) of its next request, updated with compare-and-set, so no
+ * lock is taken. A key is allowed {@code burst} requests at once and then one per emission interval
+ * ({@code period / requests}). Keys live in a bounded Caffeine map and expire once their bucket is
+ * full again, since a missing entry and a full bucket behave the same.
+ */
+public class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> arrivalTimes;
+
+    public GcraRateLimiter(int requests, Duration period, int burst, int maxKeys) {
+        this(requests, period, burst, maxKeys, System::nanoTime);
+    }
+
+    GcraRateLimiter(int requests, Duration period, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (requests < 1 || burst < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("requests, burst and period must be positive");
+        }
+        this.emissionIntervalNanos = period.toNanos() / requests;
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.arrivalTimes = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(burstToleranceNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Takes a token for the key if one is available.
+     *
+     * @param key The caller to limit
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrivalTime = arrivalTimes.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = arrivalTime.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long allowedAt = newTat - burstToleranceNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (arrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedKeys() {
+        arrivalTimes.cleanUp();
+        return arrivalTimes.estimatedSize();
+    }
+}
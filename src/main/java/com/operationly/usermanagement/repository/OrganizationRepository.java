@@ -1,9 +1,14 @@
 package com.operationly.usermanagement.repository;
 
 import com.operationly.usermanagement.entity.Organization;
+import com.operationly.usermanagement.repository.projection.OrganizationView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,11 +18,24 @@ public interface OrganizationRepository extends JpaRepository<Organization, UUID
     /**
      * Find organization by organization ID
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Organization.QUERY_CACHE_REGION)
+    })
     Optional<Organization> findByOrganizationId(UUID organizationId);
     
     /**
      * Check if organization exists by organization ID
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Organization.QUERY_CACHE_REGION)
+    })
     boolean existsByOrganizationId(UUID organizationId);
+
+    /**
+     * Find all organizations without loading their memberships
+     */
+    List<OrganizationView> findAllProjectedBy();
 }
 
@@ -1,27 +1,91 @@
 package com.operationly.usermanagement.repository;
 
 import com.operationly.usermanagement.entity.UserAccount;
+import com.operationly.usermanagement.repository.projection.UserAccountView;
+import com.operationly.usermanagement.repository.projection.UserContextView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
-    
+
+    String ACCOUNT_VIEW_COLUMNS = "select u.id as id, u.workosUserId as workosUserId, u.email as email, "
+            + "u.firstName as firstName, u.lastName as lastName, u.emailVerified as emailVerified, "
+            + "u.onboardingCompleted as onboardingCompleted, u.profilePictureUrl as profilePictureUrl, "
+            + "u.lastSignInAt as lastSignInAt, u.createdAt as createdAt, u.updatedAt as updatedAt, "
+            + "uo.role as role, o.organizationId as organizationId, o.name as organizationName, "
+            + "o.plan as organizationPlan, o.status as organizationStatus, "
+            + "o.createdAt as organizationCreatedAt, o.updatedAt as organizationUpdatedAt ";
+
+    /**
+     * Joins a user with its primary membership, i.e. the first one created. The organization comes
+     * from user_primary_organization, so only one partition of user_organization is probed.
+     */
+    String PRIMARY_MEMBERSHIP_JOIN = "from UserAccount u "
+            + "left join UserPrimaryOrganization p on p.userId = u.id "
+            + "left join UserOrganization uo on uo.user = u "
+            + "and uo.organization.organizationId = p.organizationId ";
+
     /**
      * Find user account by WorkOS user ID
      */
     Optional<UserAccount> findByWorkosUserId(String workosUserId);
-    
+
     /**
      * Check if user account exists by WorkOS user ID
      */
     boolean existsByWorkosUserId(String workosUserId);
-    
+
     /**
      * Find user account by email
      */
     Optional<UserAccount> findByEmail(String email);
+
+    /**
+     * Finds the account view of a user, with its primary organization, by WorkOS user ID.
+     *
+     * @param workosUserId The WorkOS user ID
+     * @return Optional account view
+     */
+    @Query(ACCOUNT_VIEW_COLUMNS + PRIMARY_MEMBERSHIP_JOIN
+            + "left join uo.organization o where u.workosUserId = :workosUserId")
+    Optional<UserAccountView> findAccountViewByWorkosUserId(@Param("workosUserId") String workosUserId);
+
+    /**
+     * Finds the account view of a user, with its primary organization, by user ID.
+     *
+     * @param id The user ID
+     * @return Optional account view
+     */
+    @Query(ACCOUNT_VIEW_COLUMNS + PRIMARY_MEMBERSHIP_JOIN
+            + "left join uo.organization o where u.id = :id")
+    Optional<UserAccountView> findAccountViewById(@Param("id") Long id);
+
+    /**
+     * Finds the account views of all members of an organization, with their role in it.
+     *
+     * @param organizationId The organization ID
+     * @return List of account views
+     */
+    @Query(ACCOUNT_VIEW_COLUMNS + "from UserOrganization uo join uo.user u join uo.organization o "
+            + "where o.organizationId = :organizationId order by uo.id")
+    List<UserAccountView> findAccountViewsByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    /**
+     * Finds the columns needed for the user context of a WorkOS user.
+     *
+     * @param workosUserId The WorkOS user ID
+     * @return Optional context view
+     */
+    @Query("select u.id as userId, u.workosUserId as workosUserId, u.email as email, uo.role as role, "
+            + "uo.organization.organizationId as organizationId " + PRIMARY_MEMBERSHIP_JOIN
+            + "where u.workosUserId = :workosUserId")
+    Optional<UserContextView> findContextViewByWorkosUserId(@Param("workosUserId") String workosUserId);
 }
 
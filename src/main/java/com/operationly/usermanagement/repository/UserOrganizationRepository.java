@@ -1,9 +1,12 @@
 package com.operationly.usermanagement.repository;
 
 import com.operationly.usermanagement.entity.Organization;
+import com.operationly.usermanagement.entity.Role;
 import com.operationly.usermanagement.entity.UserAccount;
 import com.operationly.usermanagement.entity.UserOrganization;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,13 +17,24 @@ import java.util.UUID;
 public interface UserOrganizationRepository extends JpaRepository<UserOrganization, Long> {
 
     /**
-     * Finds all organizations for a given user.
+     * Finds all organizations for a given user. user_organization is partitioned by organization,
+     * so this probes the (user_id, organization_id) index of every partition; hot paths that only
+     * need one organization use {@link #findPrimaryOrganizationId} instead.
      * 
      * @param user The user account
      * @return List of user organizations
      */
     List<UserOrganization> findByUser(UserAccount user);
 
+    /**
+     * Finds the organization of the first membership of a user, from user_primary_organization.
+     *
+     * @param userId The user account ID
+     * @return Optional organization ID, empty when the user has no membership
+     */
+    @Query("select p.organizationId from UserPrimaryOrganization p where p.userId = :userId")
+    Optional<UUID> findPrimaryOrganizationId(@Param("userId") Long userId);
+
     /**
      * Finds a user organization by user and organization ID.
      * 
@@ -31,7 +45,20 @@ public interface UserOrganizationRepository extends JpaRepository<UserOrganizati
     Optional<UserOrganization> findByUserAndOrganizationOrganizationId(UserAccount user, UUID organizationId);
 
     /**
-     * Deletes all user organizations for a given user.
+     * Finds the role of a user in an organization without loading the membership entity.
+     *
+     * @param userId         The user account ID
+     * @param organizationId The organization ID
+     * @return Optional role
+     */
+    @Query("select uo.role from UserOrganization uo where uo.user.id = :userId "
+            + "and uo.organization.organizationId = :organizationId")
+    Optional<Role> findRoleByUserIdAndOrganizationId(@Param("userId") Long userId,
+                                                     @Param("organizationId") UUID organizationId);
+
+    /**
+     * Deletes all user organizations for a given user. Like {@link #findByUser}, this visits every
+     * partition.
      * 
      * @param user The user account
      */
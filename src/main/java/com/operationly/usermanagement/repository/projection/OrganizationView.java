@@ -0,0 +1,19 @@
+package com.operationly.usermanagement.repository.projection;
+
+import com.operationly.usermanagement.entity.Plan;
+import com.operationly.usermanagement.entity.Status;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Organization columns without the membership collection.
+ */
+public interface OrganizationView {
+    UUID getOrganizationId();
+    String getName();
+    Plan getPlan();
+    Status getStatus();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,33 @@
+package com.operationly.usermanagement.repository.projection;
+
+import com.operationly.usermanagement.entity.Plan;
+import com.operationly.usermanagement.entity.Role;
+import com.operationly.usermanagement.entity.Status;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a user account joined with one of its organization memberships.
+ * Organization columns are null when the user has no membership.
+ */
+public interface UserAccountView {
+    Long getId();
+    String getWorkosUserId();
+    String getEmail();
+    String getFirstName();
+    String getLastName();
+    Boolean getEmailVerified();
+    Boolean getOnboardingCompleted();
+    String getProfilePictureUrl();
+    LocalDateTime getLastSignInAt();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Role getRole();
+    UUID getOrganizationId();
+    String getOrganizationName();
+    Plan getOrganizationPlan();
+    Status getOrganizationStatus();
+    LocalDateTime getOrganizationCreatedAt();
+    LocalDateTime getOrganizationUpdatedAt();
+}
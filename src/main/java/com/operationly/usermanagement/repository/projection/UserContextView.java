@@ -0,0 +1,16 @@
+package com.operationly.usermanagement.repository.projection;
+
+import com.operationly.usermanagement.entity.Role;
+
+import java.util.UUID;
+
+/**
+ * Columns needed to build a {@link com.operationly.usermanagement.dto.UserContextDto}.
+ */
+public interface UserContextView {
+    Long getUserId();
+    String getWorkosUserId();
+    String getEmail();
+    Role getRole();
+    UUID getOrganizationId();
+}
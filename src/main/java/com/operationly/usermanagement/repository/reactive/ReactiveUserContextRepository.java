@@ -0,0 +1,52 @@
+package com.operationly.usermanagement.repository.reactive;
+
+import com.operationly.usermanagement.dto.UserContextDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "operationly.reactive", name = "enabled", havingValue = "true")
+public class ReactiveUserContextRepository {
+
+    /**
+     * Same shape as {@code UserAccountRepository.findContextViewByWorkosUserId}: the user joined with
+     * its primary membership, i.e. the first one created. The organization_id from
+     * user_primary_organization prunes user_organization to one partition.
+     */
+    private static final String CONTEXT_SQL = """
+            SELECT ua.id, ua.workos_user_id, ua.email, uo.role, uo.organization_id
+            FROM user_account ua
+            LEFT JOIN user_primary_organization p ON p.user_id = ua.id
+            LEFT JOIN user_organization uo ON uo.user_id = ua.id AND uo.organization_id = p.organization_id
+            WHERE ua.workos_user_id = :workosUserId""";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    /**
+     * Finds the user context by WorkOS user ID in a single non-blocking query.
+     *
+     * @param workosUserId The WorkOS user ID
+     * @return The user context, or empty if no account exists
+     */
+    public Mono<UserContextDto> findContextByWorkosUserId(String workosUserId) {
+        return reactiveDatabaseClient.sql(CONTEXT_SQL)
+                .bind("workosUserId", workosUserId)
+                .map((row, metadata) -> {
+                    UUID organizationId = row.get("organization_id", UUID.class);
+                    return UserContextDto.builder()
+                            .userId(String.valueOf(row.get("id", Long.class)))
+                            .workosUserId(row.get("workos_user_id", String.class))
+                            .email(row.get("email", String.class))
+                            .role(row.get("role", String.class))
+                            .organizationId(organizationId != null ? organizationId.toString() : null)
+                            .build();
+                })
+                .one();
+    }
+}
@@ -0,0 +1,9 @@
+package com.operationly.usermanagement.responsecache;
+
+/**
+ * A serialized 200 response, ready to be copied to the output stream.
+ *
+ * @param etag Strong ETag derived from the body
+ */
+public record CachedResponse(byte[] body, String contentType, String etag) {
+}
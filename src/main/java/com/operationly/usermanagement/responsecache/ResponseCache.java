@@ -0,0 +1,144 @@
+package com.operationly.usermanagement.responsecache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.operationly.usermanagement.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serialized response bodies of hot GET endpoints, keyed by resource. Write paths invalidate the
+ * resources they change once their transaction commits.
+ * <p>
+ * A render that started before an invalidation must not store its now stale body afterwards. Each
+ * key hashes to one of a fixed set of version stripes, and a global epoch covers invalidations of a
+ * whole resource type; a miss takes a {@link Ticket} holding both, and {@link #put} stores only if
+ * neither moved in the meantime. Unrelated keys sharing a stripe only cost an occasional skipped
+ * store, and the stripes take constant memory however many keys come and go.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String USER_PREFIX = "user:";
+    public static final String ORGANIZATION_PREFIX = "organization:";
+
+    private static final int STRIPES = 4096;
+
+    private final boolean enabled;
+    private final Cache<String, CachedResponse> entries;
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "response-cache");
+    }
+
+    public static String userKey(String workosUserId) {
+        return USER_PREFIX + workosUserId;
+    }
+
+    public static String organizationKey(UUID organizationId) {
+        return ORGANIZATION_PREFIX + organizationId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Captures the versions a response about to be rendered is based on.
+     */
+    public Ticket ticket(String key) {
+        return new Ticket(key, epoch.get(), versions.get(stripe(key)));
+    }
+
+    /**
+     * Stores a rendered response unless its key was invalidated since the ticket was taken.
+     *
+     * @return true if the response was stored
+     */
+    public boolean put(Ticket ticket, CachedResponse response) {
+        if (!isCurrent(ticket)) {
+            return false;
+        }
+        entries.put(ticket.key(), response);
+        // An invalidation may have slipped in between the check and the put
+        if (!isCurrent(ticket)) {
+            entries.invalidate(ticket.key());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops a cached response once the surrounding transaction commits, or right away outside a
+     * transaction.
+     */
+    public void invalidateAfterCommit(String key) {
+        if (enabled) {
+            afterCommit(() -> invalidate(key));
+        }
+    }
+
+    /**
+     * Drops every cached response of a resource type once the surrounding transaction commits. Used
+     * by set-based writes that do not know which resources they touched.
+     *
+     * @param prefix {@link #USER_PREFIX} or {@link #ORGANIZATION_PREFIX}
+     */
+    public void invalidateAllAfterCommit(String prefix) {
+        if (enabled) {
+            afterCommit(() -> {
+                epoch.incrementAndGet();
+                entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            });
+        }
+    }
+
+    void invalidate(String key) {
+        versions.incrementAndGet(stripe(key));
+        entries.invalidate(key);
+    }
+
+    private boolean isCurrent(Ticket ticket) {
+        return epoch.get() == ticket.epoch() && versions.get(stripe(ticket.key())) == ticket.version();
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Ticket(String key, long epoch, long version) {
+    }
+}
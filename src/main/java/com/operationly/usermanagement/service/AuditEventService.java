@@ -0,0 +1,9 @@
+package com.operationly.usermanagement.service;
+
+import com.operationly.usermanagement.dto.AuditEventPageDto;
+
+import java.time.LocalDateTime;
+
+public interface AuditEventService {
+    AuditEventPageDto getAuditEvents(String orgId, LocalDateTime from, LocalDateTime to, Integer limit, String cursor);
+}
@@ -0,0 +1,8 @@
+package com.operationly.usermanagement.service;
+
+import com.operationly.usermanagement.exporter.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface MemberExportService {
+    StreamingResponseBody exportMembers(String orgId, ExportFormat format, boolean gzip);
+}
@@ -0,0 +1,16 @@
+package com.operationly.usermanagement.service;
+
+import com.operationly.usermanagement.dto.BulkMemberRemovalDto;
+import com.operationly.usermanagement.dto.BulkMembershipRequestDto;
+import com.operationly.usermanagement.dto.BulkMembershipResultDto;
+import com.operationly.usermanagement.dto.MembershipRoleDto;
+
+public interface MembershipService {
+    MembershipRoleDto getMemberRole(String orgId, Long userId);
+
+    BulkMembershipResultDto addMembers(String orgId, BulkMembershipRequestDto request);
+
+    BulkMembershipResultDto changeMemberRoles(String orgId, BulkMembershipRequestDto request);
+
+    BulkMembershipResultDto removeMembers(String orgId, BulkMemberRemovalDto request);
+}
@@ -0,0 +1,10 @@
+package com.operationly.usermanagement.service;
+
+import com.operationly.usermanagement.dto.ImportReportDto;
+import com.operationly.usermanagement.importer.ImportFormat;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+    ImportReportDto importMembers(String orgId, ImportFormat format, InputStream input);
+}
@@ -0,0 +1,153 @@
+package com.operationly.usermanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.Workload;
+import com.operationly.usermanagement.dto.AuditEventDto;
+import com.operationly.usermanagement.dto.AuditEventPageDto;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.repository.OrganizationRepository;
+import com.operationly.usermanagement.service.AuditEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@UsePool(Workload.READ)
+public class AuditEventServiceImpl implements AuditEventService {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 500;
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final TypeReference<Map<String, Object>> CHANGES_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrganizationRepository organizationRepository;
+
+    /**
+     * Finds the audit events of an organization, newest first. Pages are keyset-paginated on
+     * (occurred_at, id), so a page costs the same however deep it is and events written meanwhile
+     * neither shift nor repeat rows.
+     *
+     * @param orgId  The organization ID
+     * @param from   Inclusive lower bound of occurred_at, or null
+     * @param to     Exclusive upper bound of occurred_at, or null
+     * @param limit  Page size, 1 to 500; defaults to 100
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @return One page of events with the cursor of the next page
+     * @throws BusinessException if the organization does not exist or a parameter is invalid
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public AuditEventPageDto getAuditEvents(String orgId, LocalDateTime from, LocalDateTime to, Integer limit,
+                                            String cursor) {
+        UUID organizationId = UUID.fromString(orgId);
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new BusinessException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!organizationRepository.existsByOrganizationId(organizationId)) {
+            throw new BusinessException("No organization found for orgId: " + orgId);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id, event_type, organization_id, user_id, workos_user_id, role, "
+                + "changes, occurred_at FROM audit_event WHERE organization_id = ?");
+        List<Object> args = new ArrayList<>(List.of(organizationId));
+        if (from != null) {
+            sql.append(" AND occurred_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND occurred_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = decodeCursor(cursor);
+            sql.append(" AND (occurred_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(position.occurredAt()));
+            args.add(position.id());
+        }
+        // One extra row tells whether another page follows
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<AuditEventDto> events = jdbcTemplate.query(sql.toString(), this::readEvent, args.toArray());
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            AuditEventDto last = events.get(pageSize - 1);
+            nextCursor = encodeCursor(LocalDateTime.parse(last.getOccurredAt()), last.getId());
+        }
+
+        return AuditEventPageDto.builder()
+                .events(events)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private AuditEventDto readEvent(ResultSet resultSet, int rowNum) throws SQLException {
+        UUID organizationId = resultSet.getObject("organization_id", UUID.class);
+        long userId = resultSet.getLong("user_id");
+        return AuditEventDto.builder()
+                .id(resultSet.getLong("id"))
+                .eventType(resultSet.getString("event_type"))
+                .organizationId(organizationId != null ? organizationId.toString() : null)
+                .userId(resultSet.wasNull() ? null : userId)
+                .workosUserId(resultSet.getString("workos_user_id"))
+                .role(resultSet.getString("role"))
+                .changes(readChanges(resultSet.getString("changes")))
+                .occurredAt(resultSet.getTimestamp("occurred_at").toLocalDateTime().toString())
+                .build();
+    }
+
+    private Map<String, Object> readChanges(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, CHANGES_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not parse audit changes {}", json, e);
+            return null;
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime occurredAt, long id) {
+        String position = occurredAt + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            return new Cursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private record Cursor(LocalDateTime occurredAt, long id) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.operationly.usermanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.datasource.DataSourceRoutingContext;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.Workload;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.exporter.CsvMemberExportWriter;
+import com.operationly.usermanagement.exporter.ExportFormat;
+import com.operationly.usermanagement.exporter.MemberExportRow;
+import com.operationly.usermanagement.exporter.MemberExportWriter;
+import com.operationly.usermanagement.exporter.NdjsonMemberExportWriter;
+import com.operationly.usermanagement.repository.OrganizationRepository;
+import com.operationly.usermanagement.service.MemberExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+@UsePool(Workload.BULK)
+public class MemberExportServiceImpl implements MemberExportService {
+
+    static final int FETCH_SIZE = 1000;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final String EXPORT_SQL = """
+            SELECT ua.id, ua.workos_user_id, ua.email, ua.first_name, ua.last_name, ua.email_verified,
+                   ua.last_sign_in_at, uo.role, uo.created_at AS joined_at
+            FROM user_organization uo
+            JOIN user_account ua ON ua.id = uo.user_id
+            WHERE uo.organization_id = ?
+            ORDER BY uo.id""";
+
+    private final OrganizationRepository organizationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public MemberExportServiceImpl(OrganizationRepository organizationRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper) {
+        this.organizationRepository = organizationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Prepares a streaming export of every member of an organization. The organization is checked up
+     * front so a missing one still yields an error response; the rows are only read once the body is
+     * written. PostgreSQL only honours the fetch size inside a transaction, so the query runs in a
+     * read-only one and the driver pulls {@value #FETCH_SIZE} rows per round trip through a
+     * forward-only cursor. The body runs on an async thread, so it picks the bulk pool itself.
+     *
+     * @param orgId  The organization to export
+     * @param format Output format
+     * @param gzip   Whether to gzip the output on the fly
+     * @return A body that writes the export to the response stream
+     */
+    @Override
+    public StreamingResponseBody exportMembers(String orgId, ExportFormat format, boolean gzip) {
+        UUID organizationId = UUID.fromString(orgId);
+        if (!organizationRepository.existsByOrganizationId(organizationId)) {
+            throw new BusinessException("No organization found for orgId: " + orgId);
+        }
+        return output -> {
+            long rows = DataSourceRoutingContext.callWithWorkload(Workload.BULK, () ->
+                    readOnlyTransaction.execute(status -> streamMembers(organizationId, format, gzip, output)));
+            log.info("Exported {} members of organization {} as {}", rows, orgId, format);
+        };
+    }
+
+    private long streamMembers(UUID organizationId, ExportFormat format, boolean gzip, OutputStream output) {
+        try (MemberExportWriter writer = openWriter(format, gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : output)) {
+            long[] rows = {0};
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, organizationId);
+                return statement;
+            }, resultSet -> {
+                try {
+                    writer.write(toRow(resultSet));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+            return rows[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MemberExportWriter openWriter(ExportFormat format, OutputStream output) throws IOException {
+        return format == ExportFormat.CSV
+                ? new CsvMemberExportWriter(output)
+                : new NdjsonMemberExportWriter(output, objectMapper);
+    }
+
+    private static MemberExportRow toRow(ResultSet resultSet) throws SQLException {
+        return new MemberExportRow(
+                resultSet.getLong("id"),
+                resultSet.getString("workos_user_id"),
+                resultSet.getString("email"),
+                resultSet.getString("first_name"),
+                resultSet.getString("last_name"),
+                resultSet.getBoolean("email_verified"),
+                resultSet.getString("role"),
+                resultSet.getObject("joined_at", LocalDateTime.class),
+                resultSet.getObject("last_sign_in_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,288 @@
+package com.operationly.usermanagement.service.impl;
+
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.audit.AuditEventType;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.Workload;
+import com.operationly.usermanagement.dto.BulkMemberRemovalDto;
+import com.operationly.usermanagement.dto.BulkMembershipRequestDto;
+import com.operationly.usermanagement.dto.BulkMembershipResultDto;
+import com.operationly.usermanagement.dto.MembershipChangeDto;
+import com.operationly.usermanagement.dto.MembershipRoleDto;
+import com.operationly.usermanagement.entity.Role;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.membership.MembersVersion;
+import com.operationly.usermanagement.membership.MembershipIndexManager;
+import com.operationly.usermanagement.repository.UserOrganizationRepository;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import com.operationly.usermanagement.service.MembershipService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@UsePool(Workload.READ)
+public class MembershipServiceImpl implements MembershipService {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Adds only users that exist and are not members yet; existing memberships keep their role. Rows
+     * go in user id order, the lock order user_primary_organization relies on.
+     */
+    private static final String ADD_SQL = """
+            INSERT INTO user_organization (user_id, organization_id, role, created_at, updated_at)
+            SELECT m.user_id, ?, m.role, now(), now()
+            FROM unnest(?::bigint[], ?::varchar[]) AS m(user_id, role)
+            WHERE EXISTS (SELECT 1 FROM user_account ua WHERE ua.id = m.user_id)
+            ORDER BY m.user_id
+            ON CONFLICT (user_id, organization_id) DO NOTHING
+            RETURNING user_id, role""";
+
+    /** Touches only memberships whose role actually differs. */
+    private static final String CHANGE_ROLE_SQL = """
+            UPDATE user_organization uo SET role = m.role, updated_at = now()
+            FROM unnest(?::bigint[], ?::varchar[]) AS m(user_id, role)
+            WHERE uo.organization_id = ? AND uo.user_id = m.user_id AND uo.role <> m.role
+            RETURNING uo.user_id, uo.role""";
+
+    private static final String REMOVE_SQL = """
+            DELETE FROM user_organization
+            WHERE organization_id = ? AND user_id = ANY(?::bigint[])
+            RETURNING user_id, role""";
+
+    private static final String ADMINLESS_SQL = """
+            SELECT EXISTS (SELECT 1 FROM user_organization WHERE organization_id = ?)
+               AND NOT EXISTS (SELECT 1 FROM user_organization WHERE organization_id = ? AND role IN ('ADMIN', 'SUPER_ADMIN'))""";
+
+    private final MembershipIndexManager membershipIndexManager;
+    private final UserOrganizationRepository userOrganizationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MembersVersion membersVersion;
+    private final AuditEventAppender auditEventAppender;
+    private final ResponseCache responseCache;
+
+    /**
+     * Finds the role a user holds in an organization. Answered from the in-memory membership index,
+     * which change notifications keep current across instances; a miss is confirmed against the
+     * database, since the index may not be loaded yet or may be waiting for a notification. The
+     * transaction is not read-only so that read goes to the primary: a lagging replica could return
+     * a role whose removal the index has already applied, and it would be recorded back into it.
+     *
+     * @param orgId  The organization ID
+     * @param userId The user_account id
+     * @return The user's role in the organization
+     * @throws BusinessException if the user is not a member
+     */
+    @Transactional
+    @Override
+    public MembershipRoleDto getMemberRole(String orgId, Long userId) {
+        UUID organizationId = UUID.fromString(orgId);
+        Role role = membershipIndexManager.findRole(userId, organizationId);
+        if (role == null) {
+            long changeCount = membershipIndexManager.changeCount();
+            role = userOrganizationRepository.findRoleByUserIdAndOrganizationId(userId, organizationId)
+                    .orElseThrow(() -> new BusinessException(
+                            "No membership found for user " + userId + " in organization " + orgId));
+            log.debug("Membership index miss for user {} in organization {}", userId, orgId);
+            membershipIndexManager.recordLookup(userId, organizationId, role, changeCount);
+        }
+
+        return MembershipRoleDto.builder()
+                .userId(userId)
+                .organizationId(orgId)
+                .role(role.getValue())
+                .build();
+    }
+
+    /**
+     * Adds users to an organization in one statement. Users that do not exist or are already members
+     * are skipped.
+     *
+     * @param orgId   The organization ID
+     * @param request user_account ids with the role to give them
+     * @return Requested and added counts with the new members_version
+     * @throws BusinessException if the organization does not exist or the request is invalid
+     */
+    @Transactional
+    @UsePool(Workload.WRITE)
+    @Override
+    public BulkMembershipResultDto addMembers(String orgId, BulkMembershipRequestDto request) {
+        Map<Long, Role> requested = toRoles(request);
+        UUID organizationId = UUID.fromString(orgId);
+        long version = lockOrganization(organizationId, orgId);
+
+        Map<Long, Role> added = execute(ADD_SQL, organizationId, userIdArray(requested.keySet()),
+                roleArray(requested.values()));
+        return finishBatch(organizationId, requested.size(), added, version, AuditEventType.MEMBERSHIP_ADDED);
+    }
+
+    /**
+     * Changes the role of members of an organization in one statement. Users that are not members,
+     * or already hold the role, are skipped.
+     *
+     * @param orgId   The organization ID
+     * @param request user_account ids with their new role
+     * @return Requested and changed counts with the new members_version
+     * @throws BusinessException if the organization does not exist, the request is invalid or the
+     *                           change would leave the organization without an admin
+     */
+    @Transactional
+    @UsePool(Workload.WRITE)
+    @Override
+    public BulkMembershipResultDto changeMemberRoles(String orgId, BulkMembershipRequestDto request) {
+        Map<Long, Role> requested = toRoles(request);
+        UUID organizationId = UUID.fromString(orgId);
+        long version = lockOrganization(organizationId, orgId);
+
+        Map<Long, Role> changed = execute(CHANGE_ROLE_SQL, userIdArray(requested.keySet()),
+                roleArray(requested.values()), organizationId);
+        requireAdmin(organizationId);
+        return finishBatch(organizationId, requested.size(), changed, version, AuditEventType.MEMBERSHIP_ROLE_CHANGED);
+    }
+
+    /**
+     * Removes users from an organization in one statement. Users that are not members are skipped.
+     *
+     * @param orgId   The organization ID
+     * @param request user_account ids to remove
+     * @return Requested and removed counts with the new members_version
+     * @throws BusinessException if the organization does not exist, the request is invalid or the
+     *                           removal would leave the organization without an admin
+     */
+    @Transactional
+    @UsePool(Workload.WRITE)
+    @Override
+    public BulkMembershipResultDto removeMembers(String orgId, BulkMemberRemovalDto request) {
+        if (request == null || request.getUserIds() == null || request.getUserIds().isEmpty()) {
+            throw new BusinessException("userIds must not be empty");
+        }
+        Set<Long> requested = new LinkedHashSet<>(request.getUserIds());
+        if (requested.contains(null)) {
+            throw new BusinessException("userIds must not contain null");
+        }
+        requireBatchSize(requested.size());
+        UUID organizationId = UUID.fromString(orgId);
+        long version = lockOrganization(organizationId, orgId);
+
+        Map<Long, Role> removed = execute(REMOVE_SQL, organizationId, userIdArray(requested));
+        requireAdmin(organizationId);
+        return finishBatch(organizationId, requested.size(), removed, version, AuditEventType.MEMBERSHIP_REMOVED);
+    }
+
+    private long lockOrganization(UUID organizationId, String orgId) {
+        Long version = membersVersion.lock(organizationId);
+        if (version == null) {
+            throw new BusinessException("No organization found for orgId: " + orgId);
+        }
+        return version;
+    }
+
+    private void requireAdmin(UUID organizationId) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(ADMINLESS_SQL, Boolean.class, organizationId, organizationId))) {
+            throw new BusinessException("Organization " + organizationId + " would be left without an admin");
+        }
+    }
+
+    /**
+     * Bumps members_version and evicts the changed memberships from the index, updates the audit
+     * log and the cached user responses, once for the whole batch. Nothing is bumped when no row changed.
+     */
+    private BulkMembershipResultDto finishBatch(UUID organizationId, int requested, Map<Long, Role> applied,
+                                                long version, AuditEventType eventType) {
+        if (!applied.isEmpty()) {
+            membersVersion.bump(organizationId);
+            version++;
+            membershipIndexManager.evictMembershipsAfterCommit(organizationId, applied.keySet());
+            applied.forEach((userId, role) ->
+                    auditEventAppender.record(eventType, organizationId, userId, null, role, null));
+            // Cached /users/me bodies are keyed by WorkOS user ID, which the batch does not know
+            responseCache.invalidateAllAfterCommit(ResponseCache.USER_PREFIX);
+        }
+        log.info("{} for organization {}: {} requested, {} applied, members version {}",
+                eventType, organizationId, requested, applied.size(), version);
+
+        return BulkMembershipResultDto.builder()
+                .requested(requested)
+                .applied(applied.size())
+                .membersVersion(version)
+                .build();
+    }
+
+    /**
+     * Runs a set-based membership statement. Arguments given as Long[] or String[] are bound as
+     * PostgreSQL arrays, so the whole batch travels as a fixed number of parameters.
+     *
+     * @return user_account id to role of the rows the statement returned
+     */
+    private Map<Long, Role> execute(String sql, Object... args) {
+        Map<Long, Role> applied = new LinkedHashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] instanceof Long[] userIds) {
+                    statement.setArray(i + 1, connection.createArrayOf("bigint", userIds));
+                } else if (args[i] instanceof String[] roles) {
+                    statement.setArray(i + 1, connection.createArrayOf("varchar", roles));
+                } else {
+                    statement.setObject(i + 1, args[i]);
+                }
+            }
+            return statement;
+        }, resultSet -> {
+            applied.put(resultSet.getLong("user_id"), Role.valueOf(resultSet.getString("role")));
+        });
+        return applied;
+    }
+
+    private static Map<Long, Role> toRoles(BulkMembershipRequestDto request) {
+        if (request == null || request.getMembers() == null || request.getMembers().isEmpty()) {
+            throw new BusinessException("members must not be empty");
+        }
+        requireBatchSize(request.getMembers().size());
+        Map<Long, Role> roles = new LinkedHashMap<>();
+        for (MembershipChangeDto member : request.getMembers()) {
+            if (member == null || member.getUserId() == null) {
+                throw new BusinessException("Every member needs a userId");
+            }
+            roles.put(member.getUserId(), parseRole(member.getRole()));
+        }
+        return roles;
+    }
+
+    private static Role parseRole(String role) {
+        if (role == null || Role.MEMBER.name().equals(role)) {
+            return Role.MEMBER;
+        }
+        if (Role.ADMIN.name().equals(role)) {
+            return Role.ADMIN;
+        }
+        throw new BusinessException("role must be " + Role.MEMBER.name() + " or " + Role.ADMIN.name() + ", got " + role);
+    }
+
+    private static void requireBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BusinessException("At most " + MAX_BATCH_SIZE + " members per request, got " + size);
+        }
+    }
+
+    private static Long[] userIdArray(Collection<Long> userIds) {
+        return userIds.toArray(Long[]::new);
+    }
+
+    private static String[] roleArray(Collection<Role> roles) {
+        return roles.stream().map(Role::name).toArray(String[]::new);
+    }
+}
@@ -1,18 +1,26 @@
 package com.operationly.usermanagement.service.impl;
 
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.audit.AuditEventType;
+import com.operationly.usermanagement.datasource.ReadYourWritesTracker;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.Workload;
 import com.operationly.usermanagement.dto.OrganizationDto;
 import com.operationly.usermanagement.entity.*;
 import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.membership.MembershipIndexManager;
 import com.operationly.usermanagement.repository.OrganizationRepository;
-import com.operationly.usermanagement.repository.UserAccountRepository;
-import com.operationly.usermanagement.repository.UserOrganizationRepository;
+import com.operationly.usermanagement.responsecache.ResponseCache;
 import com.operationly.usermanagement.service.OrganizationService;
+import com.operationly.usermanagement.util.TimeOrderedUuid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,59 +29,80 @@ import java.util.UUID;
 @Slf4j
 public class OrganizationServiceImpl implements OrganizationService {
 
+    private static final String LOCK_USER_SQL = "SELECT id FROM user_account WHERE workos_user_id = ? FOR UPDATE";
+
+    /**
+     * Writes the organization, the ADMIN membership and the onboarding flag in one statement, only
+     * if the user has no membership yet. Data-modifying CTEs run whether or not the final SELECT
+     * reads them. A user has a user_primary_organization row exactly when they have a membership,
+     * and checking it there avoids probing every partition of user_organization.
+     */
+    private static final String ONBOARD_SQL = """
+            WITH eligible AS (
+                SELECT ua.id FROM user_account ua
+                WHERE ua.id = ?
+                  AND NOT EXISTS (SELECT 1 FROM user_primary_organization p WHERE p.user_id = ua.id)
+            ), created_organization AS (
+                INSERT INTO organization (organization_id, name, plan, status, created_at, updated_at)
+                SELECT ?, ?, ?, ?, now(), now() FROM eligible
+                RETURNING organization_id
+            ), membership AS (
+                INSERT INTO user_organization (user_id, organization_id, role, created_at, updated_at)
+                SELECT e.id, o.organization_id, ?, now(), now() FROM eligible e CROSS JOIN created_organization o
+                RETURNING id
+            ), onboarded AS (
+                UPDATE user_account SET onboarding_completed = true, updated_at = now()
+                WHERE id IN (SELECT id FROM eligible)
+                RETURNING id
+            )
+            SELECT count(*) FROM membership""";
+
     private final OrganizationRepository organizationRepository;
-    private final UserAccountRepository userAccountRepository;
-    private final UserOrganizationRepository userOrganizationRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final MembershipIndexManager membershipIndexManager;
+    private final AuditEventAppender auditEventAppender;
+    private final ResponseCache responseCache;
 
     /**
      * Creates a organization and attaches it to a user account.
      * If the user already has a organization, this operation will fail.
+     * The user row is locked first, then the check, the organization, the ADMIN membership and the
+     * onboarding flag are handled by a single statement, so concurrent requests cannot both create one.
      *
      * @param workosUserId     The WorkOS user ID
      * @param organizationName The name of the organization
      * @throws RuntimeException if user not found or user already has a organization
      */
     @Transactional
+    @UsePool(Workload.WRITE)
     @Override
     public void createOrganizationAndAttachToUser(String workosUserId, String organizationName) {
 
-        // Find user account
-        Optional<UserAccount> userOpt = userAccountRepository.findByWorkosUserId(workosUserId);
-        if (userOpt.isEmpty()) {
+        // Lock the user row; a concurrent onboarding of the same user waits here until this transaction ends
+        List<Long> userIds = jdbcTemplate.queryForList(LOCK_USER_SQL, Long.class, workosUserId);
+        if (userIds.isEmpty()) {
             throw new BusinessException("User account not found for WorkOS user ID: " + workosUserId);
         }
 
-        UserAccount userAccount = userOpt.get();
-
-        // Check if user already has an organization
-        if (!userOrganizationRepository.findByUser(userAccount).isEmpty()) {
+        // Check, create and attach in one statement; its snapshot is taken after the lock, so it sees
+        // memberships committed by whoever held the lock before us
+        Long userId = userIds.get(0);
+        UUID organizationId = TimeOrderedUuid.next();
+        Integer created = jdbcTemplate.queryForObject(ONBOARD_SQL, Integer.class,
+                userId, organizationId, organizationName, Plan.FREE.name(), Status.ACTIVE.name(), Role.ADMIN.name());
+        if (created == null || created == 0) {
             throw new BusinessException(
-                    "User already has a organization attached. User ID: " + userAccount.getId());
+                    "User already has a organization attached. User ID: " + userId);
         }
 
-        // Create organization
-        Organization organization = Organization.builder()
-                .name(organizationName)
-                .plan(Plan.FREE)
-                .status(Status.ACTIVE)
-                .build();
-
-        organization = organizationRepository.save(organization);
-        log.info("Created organization with ID: {} for user: {}", organization.getOrganizationId(), workosUserId);
-
-        // Attach organization to user
-        UserOrganization userOrganization = UserOrganization.builder()
-                .user(userAccount)
-                .organization(organization)
-                .role(Role.ADMIN)
-                .build();
-
-        userOrganizationRepository.save(userOrganization);
-
-        userAccount.setOnboardingCompleted(true);
-        userAccountRepository.save(userAccount);
-        log.info("Attached organization {} to user account {}", organization.getOrganizationId(), workosUserId);
-
+        readYourWritesTracker.recordWrite(workosUserId);
+        responseCache.invalidateAfterCommit(ResponseCache.userKey(workosUserId));
+        responseCache.invalidateAfterCommit(ResponseCache.organizationKey(organizationId));
+        membershipIndexManager.recordMembership(userId, organizationId, Role.ADMIN);
+        auditEventAppender.record(AuditEventType.ORGANIZATION_CREATED, organizationId, userId, workosUserId,
+                Role.ADMIN, Map.of("name", organizationName));
+        log.info("Created organization {} and attached it to user account {}", organizationId, workosUserId);
     }
 
     /**
@@ -82,6 +111,8 @@ public class OrganizationServiceImpl implements OrganizationService {
      * @param organizationId The organization ID
      * @return Optional Organization
      */
+    @Transactional(readOnly = true)
+    @UsePool(Workload.READ)
     @Override
     public OrganizationDto getOrganizationById(String organizationId) {
         Optional<Organization> organizationOpt = organizationRepository.findByOrganizationId(UUID.fromString(organizationId));
@@ -96,11 +127,12 @@ public class OrganizationServiceImpl implements OrganizationService {
      *
      * @return List of OrganizationDto
      */
+    @Transactional(readOnly = true)
+    @UsePool(Workload.READ)
     @Override
     public List<OrganizationDto> getAllOrganizations() {
-        List<Organization> organizations = organizationRepository.findAll();
-        return organizations.stream()
-                .map(OrganizationDto::fromEntity)
+        return organizationRepository.findAllProjectedBy().stream()
+                .map(OrganizationDto::fromView)
                 .toList();
     }
 }
@@ -1,6 +1,15 @@
 package com.operationly.usermanagement.service.impl;
 
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.audit.AuditEventType;
+import com.operationly.usermanagement.datasource.ReadYourWritesTracker;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.Workload;
+import com.operationly.usermanagement.lookup.KnownUserGuard;
+import com.operationly.usermanagement.membership.MembershipIndexManager;
+import com.operationly.usermanagement.responsecache.ResponseCache;
 import com.operationly.usermanagement.service.UserAccountService;
+import com.operationly.usermanagement.writebehind.LastSignInBuffer;
 import com.operationly.usermanagement.service.WorkOSService;
 import com.operationly.usermanagement.dto.OrganizationDto;
 import com.operationly.usermanagement.dto.UserAccountDto;
@@ -13,7 +22,9 @@ import com.operationly.usermanagement.entity.Role;
 import com.operationly.usermanagement.repository.OrganizationRepository;
 import com.operationly.usermanagement.repository.UserAccountRepository;
 import com.operationly.usermanagement.repository.UserOrganizationRepository;
+import com.operationly.usermanagement.repository.projection.UserAccountView;
 import com.workos.usermanagement.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
@@ -23,19 +34,32 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserAccountServiceImpl implements UserAccountService {
 
+    private static final String SYNC_WRITES_METRIC = "user.sync.writes";
+
     private final UserAccountRepository userAccountRepository;
     private final OrganizationRepository organizationRepository;
     private final UserOrganizationRepository userOrganizationRepository;
     private final WorkOSService workOSService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final LastSignInBuffer lastSignInBuffer;
+    private final MembershipIndexManager membershipIndexManager;
+    private final AuditEventAppender auditEventAppender;
+    private final KnownUserGuard knownUserGuard;
+    private final ResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Syncs a WorkOS user with the local user_account table.
@@ -50,54 +74,124 @@ public class UserAccountServiceImpl implements UserAccountService {
      * @return The synced UserAccount entity
      */
     @Transactional
+    @UsePool(Workload.WRITE)
     @Override
     public UserAccountDto syncUserAccount(String workosUserId, UUID organizationId) {
         User workosUser = workOSService.getWorkOsUserById(workosUserId);
         Optional<UserAccount> existingUserOpt = userAccountRepository.findByWorkosUserId(workosUserId);
 
+        LocalDateTime lastSignIn = parseLastSignIn(workosUser.getLastSignInAt());
+
         UserAccount userAccount;
-        userAccount = existingUserOpt.map(account -> updateExistingUser(account, workosUser, organizationId))
-                .orElseGet(() -> createNewUser(workosUserId, workosUser, organizationId));
+        boolean accountChanged;
+        boolean membershipAdded = false;
+        boolean lastSignInBuffered = false;
+        Map<String, Object> profileChanges = Map.of();
+        if (existingUserOpt.isPresent()) {
+            userAccount = existingUserOpt.get();
+            membershipAdded = attachOrganizationIfUnassigned(userAccount, organizationId);
+            profileChanges = updateExistingUser(userAccount, workosUser);
+            accountChanged = !profileChanges.isEmpty();
+            lastSignInBuffered = bufferLastSignIn(userAccount, lastSignIn);
+        } else {
+            userAccount = createNewUser(workosUserId, workosUser, organizationId, lastSignIn);
+            accountChanged = true;
+        }
 
-        updateLastSignIn(userAccount, workosUser.getLastSignInAt());
+        // Unchanged rows are left alone so @PreUpdate does not rewrite them just to bump updated_at
+        if (accountChanged) {
+            userAccount = userAccountRepository.save(userAccount);
+        }
+        if (accountChanged || membershipAdded) {
+            readYourWritesTracker.recordWrite(workosUserId);
+        }
+        // A buffered last sign-in is not in the row yet; the buffer invalidates once it writes it
+        if (accountChanged || membershipAdded) {
+            responseCache.invalidateAfterCommit(ResponseCache.userKey(workosUserId));
+        }
+        meterRegistry.counter(SYNC_WRITES_METRIC, "outcome", accountChanged ? "applied" : "skipped").increment();
 
-        userAccount = userAccountRepository.save(userAccount);
         Optional<Organization> organizationOpt = resolveOrganization(userAccount);
+        if (!profileChanges.isEmpty()) {
+            auditEventAppender.record(AuditEventType.PROFILE_UPDATED,
+                    organizationOpt.map(Organization::getOrganizationId).orElse(null),
+                    userAccount.getId(), workosUserId, null, profileChanges);
+        }
 
-        return constructUserDto(userAccount, organizationOpt);
+        UserAccountDto userAccountDto = constructUserDto(userAccount, organizationOpt);
+        if (lastSignInBuffered) {
+            userAccountDto.setLastSignInAt(lastSignIn.toString());
+        }
+        return userAccountDto;
     }
 
-    private UserAccount updateExistingUser(UserAccount existingUser, User workosUser, UUID organizationId) {
-        log.info("Updating existing user account for WorkOS user ID: {}", existingUser.getWorkosUserId());
-
-        // Only update organization if user has no organizations and a new
-        // organizationId is provided
-        List<UserOrganization> existingOrgs = userOrganizationRepository.findByUser(existingUser);
-        if (existingOrgs.isEmpty() && organizationId != null) {
-            Optional<Organization> orgOpt = organizationRepository.findByOrganizationId(organizationId);
-            if (orgOpt.isPresent()) {
-                UserOrganization userOrg = UserOrganization.builder()
-                        .user(existingUser)
-                        .organization(orgOpt.get())
-                        .role(Role.MEMBER)
-                        .build();
-                userOrganizationRepository.save(userOrg);
-                log.info("Attaching organization ID {} to existing user", organizationId);
-            } else {
-                log.warn("Organization ID {} not found, cannot attach to user", organizationId);
-            }
+    /**
+     * Attaches the organization as MEMBER when the user has no organization yet and an organizationId is provided.
+     *
+     * @return true if a membership was created
+     */
+    private boolean attachOrganizationIfUnassigned(UserAccount existingUser, UUID organizationId) {
+        if (organizationId == null
+                || userOrganizationRepository.findPrimaryOrganizationId(existingUser.getId()).isPresent()) {
+            return false;
         }
+        Optional<Organization> orgOpt = organizationRepository.findByOrganizationId(organizationId);
+        if (orgOpt.isEmpty()) {
+            log.warn("Organization ID {} not found, cannot attach to user", organizationId);
+            return false;
+        }
+        UserOrganization userOrg = UserOrganization.builder()
+                .user(existingUser)
+                .organization(orgOpt.get())
+                .role(Role.MEMBER)
+                .build();
+        userOrganizationRepository.save(userOrg);
+        membershipIndexManager.recordMembership(existingUser.getId(), organizationId, Role.MEMBER);
+        auditEventAppender.record(AuditEventType.MEMBERSHIP_ADDED, organizationId, existingUser.getId(),
+                existingUser.getWorkosUserId(), Role.MEMBER, null);
+        log.info("Attaching organization ID {} to existing user", organizationId);
+        return true;
+    }
 
-        existingUser.setEmail(workosUser.getEmail());
-        existingUser.setFirstName(workosUser.getFirstName());
-        existingUser.setLastName(workosUser.getLastName());
-        existingUser.setEmailVerified(workosUser.getEmailVerified());
-        existingUser.setProfilePictureUrl(workosUser.getProfilePictureUrl());
+    /**
+     * Copies the WorkOS profile onto the account, touching only fields whose value differs.
+     *
+     * @return the changed fields with their old and new values; empty if nothing changed
+     */
+    private Map<String, Object> updateExistingUser(UserAccount existingUser, User workosUser) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        updateField("email", existingUser.getEmail(), workosUser.getEmail(), existingUser::setEmail, changes);
+        updateField("firstName", existingUser.getFirstName(), workosUser.getFirstName(), existingUser::setFirstName,
+                changes);
+        updateField("lastName", existingUser.getLastName(), workosUser.getLastName(), existingUser::setLastName,
+                changes);
+        updateField("emailVerified", existingUser.getEmailVerified(), workosUser.getEmailVerified(),
+                existingUser::setEmailVerified, changes);
+        updateField("profilePictureUrl", existingUser.getProfilePictureUrl(), workosUser.getProfilePictureUrl(),
+                existingUser::setProfilePictureUrl, changes);
+
+        if (!changes.isEmpty()) {
+            log.info("Updating existing user account for WorkOS user ID: {}", existingUser.getWorkosUserId());
+        } else {
+            log.debug("WorkOS profile unchanged for user account {}", existingUser.getWorkosUserId());
+        }
+        return changes;
+    }
 
-        return existingUser;
+    private static <T> void updateField(String name, T current, T incoming, Consumer<T> setter,
+                                        Map<String, Object> changes) {
+        if (Objects.equals(current, incoming)) {
+            return;
+        }
+        setter.accept(incoming);
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("from", current);
+        change.put("to", incoming);
+        changes.put(name, change);
     }
 
-    private UserAccount createNewUser(String workosUserId, User workosUser, UUID organizationId) {
+    private UserAccount createNewUser(String workosUserId, User workosUser, UUID organizationId,
+                                      LocalDateTime lastSignIn) {
         log.warn("User verified by WorkOS but not found in local DB: {}", workosUserId);
         log.info("Creating new user account for WorkOS user ID: {}", workosUserId);
 
@@ -108,9 +202,12 @@ public class UserAccountServiceImpl implements UserAccountService {
                 .lastName(workosUser.getLastName())
                 .emailVerified(workosUser.getEmailVerified())
                 .profilePictureUrl(workosUser.getProfilePictureUrl())
+                .lastSignInAt(lastSignIn)
                 .build();
 
         newUser = userAccountRepository.save(newUser);
+        knownUserGuard.recordCreated(workosUserId);
+        auditEventAppender.record(AuditEventType.ACCOUNT_CREATED, null, newUser.getId(), workosUserId, null, null);
 
         if (organizationId != null) {
             Optional<Organization> orgOpt = organizationRepository.findByOrganizationId(organizationId);
@@ -121,6 +218,9 @@ public class UserAccountServiceImpl implements UserAccountService {
                         .role(Role.MEMBER)
                         .build();
                 userOrganizationRepository.save(userOrg);
+                membershipIndexManager.recordMembership(newUser.getId(), organizationId, Role.MEMBER);
+                auditEventAppender.record(AuditEventType.MEMBERSHIP_ADDED, organizationId, newUser.getId(),
+                        workosUserId, Role.MEMBER, null);
                 log.info("Attached organization ID {} to new user", organizationId);
             } else {
                 log.warn("Organization ID {} not found, cannot attach to new user", organizationId);
@@ -130,37 +230,52 @@ public class UserAccountServiceImpl implements UserAccountService {
         return newUser;
     }
 
-    private void updateLastSignIn(UserAccount userAccount, String lastSignInAtStr) {
+    private LocalDateTime parseLastSignIn(String lastSignInAtStr) {
         if (StringUtils.isNotEmpty(lastSignInAtStr)) {
             try {
-                LocalDateTime lastSignIn = parseDateTime(lastSignInAtStr);
-                userAccount.setLastSignInAt(lastSignIn);
+                return parseDateTime(lastSignInAtStr);
             } catch (Exception e) {
                 log.warn("Failed to parse lastSignInAt: {}", lastSignInAtStr, e);
             }
         }
+        return null;
     }
 
-    private Optional<Organization> resolveOrganization(UserAccount userAccount) {
-        List<UserOrganization> userOrgs = userOrganizationRepository.findByUser(userAccount);
-        if (!userOrgs.isEmpty()) {
-            return Optional.of(userOrgs.get(0).getOrganization());
+    /**
+     * Hands a newer last sign-in of an existing user to the write-behind buffer instead of
+     * updating the row on the request path.
+     *
+     * @return true if the timestamp was buffered
+     */
+    private boolean bufferLastSignIn(UserAccount userAccount, LocalDateTime lastSignIn) {
+        if (lastSignIn == null
+                || (userAccount.getLastSignInAt() != null && !lastSignIn.isAfter(userAccount.getLastSignInAt()))) {
+            return false;
         }
-        return Optional.empty();
+        lastSignInBuffer.record(userAccount.getId(), userAccount.getWorkosUserId(), lastSignIn);
+        return true;
     }
 
+    private Optional<Organization> resolveOrganization(UserAccount userAccount) {
+        return userOrganizationRepository.findPrimaryOrganizationId(userAccount.getId())
+                .flatMap(organizationRepository::findByOrganizationId);
+    }
+
+    @Transactional(readOnly = true)
+    @UsePool(Workload.READ)
     @Override
     public UserAccountDto getUserInfo(String workosUserId) {
-        Optional<UserAccount> userAccountOptional = userAccountRepository.findByWorkosUserId(workosUserId);
+        if (knownUserGuard.isKnownMissing(workosUserId)) {
+            throw new BusinessException("No user account found for workosUserId: " + workosUserId);
+        }
+        Optional<UserAccountView> userAccountOptional = userAccountRepository.findAccountViewByWorkosUserId(workosUserId);
 
         if (userAccountOptional.isEmpty()) {
+            knownUserGuard.recordMissing(workosUserId);
             throw new BusinessException("No user account found for workosUserId: " + workosUserId);
         }
 
-        UserAccount userAccount = userAccountOptional.get();
-        Optional<Organization> organizationOpt = resolveOrganization(userAccount);
-
-        return constructUserDto(userAccount, organizationOpt);
+        return constructUserDto(userAccountOptional.get());
     }
 
     private UserAccountDto constructUserDto(UserAccount userAccount, Optional<Organization> organizationOpt) {
@@ -191,6 +306,36 @@ public class UserAccountServiceImpl implements UserAccountService {
                 .build();
     }
 
+    private UserAccountDto constructUserDto(UserAccountView view) {
+        OrganizationDto organizationDto = null;
+        if (view.getOrganizationId() != null) {
+            organizationDto = OrganizationDto.builder()
+                    .organizationId(view.getOrganizationId().toString())
+                    .name(view.getOrganizationName())
+                    .plan(view.getOrganizationPlan() != null ? view.getOrganizationPlan().name() : null)
+                    .status(view.getOrganizationStatus() != null ? view.getOrganizationStatus().name() : null)
+                    .createdAt(view.getOrganizationCreatedAt() != null ? view.getOrganizationCreatedAt().toString() : null)
+                    .updatedAt(view.getOrganizationUpdatedAt() != null ? view.getOrganizationUpdatedAt().toString() : null)
+                    .build();
+        }
+
+        return UserAccountDto.builder()
+                .id(view.getId())
+                .workosUserId(view.getWorkosUserId())
+                .organization(organizationDto)
+                .email(view.getEmail())
+                .firstName(view.getFirstName())
+                .lastName(view.getLastName())
+                .emailVerified(view.getEmailVerified())
+                .role(view.getRole() != null ? view.getRole().getValue() : null)
+                .onboardingCompleted(view.getOnboardingCompleted())
+                .profilePictureUrl(view.getProfilePictureUrl())
+                .lastSignInAt(view.getLastSignInAt() != null ? view.getLastSignInAt().toString() : null)
+                .createdAt(view.getCreatedAt() != null ? view.getCreatedAt().toString() : null)
+                .updatedAt(view.getUpdatedAt() != null ? view.getUpdatedAt().toString() : null)
+                .build();
+    }
+
     private OrganizationDto constructOrganizationDto(Organization organization) {
         return OrganizationDto.builder()
                 .organizationId(organization.getOrganizationId().toString())
@@ -203,59 +348,59 @@ public class UserAccountServiceImpl implements UserAccountService {
     }
 
     /**
-     * Gets user account by WorkOS user ID
+     * Gets user account by WorkOS user ID. IDs the known user guard reports missing are answered
+     * without a query.
      *
      * @param workosUserId The WorkOS user ID
      * @return Optional UserAccount
      */
+    @Transactional(readOnly = true)
+    @UsePool(Workload.READ)
     @Override
     public UserContextDto getUserAccountByWorkosUserId(String workosUserId) {
-        Optional<UserAccount> userAccountOpt = userAccountRepository.findByWorkosUserId(workosUserId);
-        UserContextDto context = null;
-        if (userAccountOpt.isPresent()) {
-            UserAccount userAccount = userAccountOpt.get();
-
-            // Resolve primary organization (first one found)
-            List<UserOrganization> userOrgs = userOrganizationRepository.findByUser(userAccount);
-            UserOrganization primaryOrg = userOrgs.isEmpty() ? null : userOrgs.get(0);
-
-            context = UserContextDto.builder()
-                    .userId(String.valueOf(userAccount.getId()))
-                    .workosUserId(userAccount.getWorkosUserId())
-                    .email(userAccount.getEmail())
-                    .role(primaryOrg != null ? primaryOrg.getRole().getValue() : null)
-                    .organizationId(
-                            primaryOrg != null ? primaryOrg.getOrganization().getOrganizationId().toString() : null)
-                    .build();
+        if (knownUserGuard.isKnownMissing(workosUserId)) {
+            return null;
         }
-        return context;
+        // Primary organization is resolved in the same query (first membership created)
+        UserContextDto userContextDto = userAccountRepository.findContextViewByWorkosUserId(workosUserId)
+                .map(view -> UserContextDto.builder()
+                        .userId(String.valueOf(view.getUserId()))
+                        .workosUserId(view.getWorkosUserId())
+                        .email(view.getEmail())
+                        .role(view.getRole() != null ? view.getRole().getValue() : null)
+                        .organizationId(view.getOrganizationId() != null ? view.getOrganizationId().toString() : null)
+                        .build())
+                .orElse(null);
+        if (userContextDto == null) {
+            knownUserGuard.recordMissing(workosUserId);
+        }
+        return userContextDto;
     }
 
+    @Transactional(readOnly = true)
+    @UsePool(Workload.READ)
     @Override
     public UserAccountDto getUserById(Long userId) {
-        Optional<UserAccount> userAccountOpt = userAccountRepository.findById(userId);
+        Optional<UserAccountView> userAccountOpt = userAccountRepository.findAccountViewById(userId);
 
         if (userAccountOpt.isEmpty()) {
             throw new BusinessException("No user account found for userId: " + userId);
         }
 
-        UserAccount userAccount = userAccountOpt.get();
-        Optional<Organization> organizationOpt = resolveOrganization(userAccount);
-
-        return constructUserDto(userAccount, organizationOpt);
+        return constructUserDto(userAccountOpt.get());
     }
 
+    @Transactional(readOnly = true)
+    @UsePool(Workload.READ)
     @Override
     public List<UserAccountDto> getUsersByOrgId(String orgId) {
-        Optional<Organization> organizationOpt = organizationRepository.findByOrganizationId(UUID.fromString(orgId));
-        if (organizationOpt.isEmpty()) {
+        UUID organizationId = UUID.fromString(orgId);
+        if (!organizationRepository.existsByOrganizationId(organizationId)) {
             throw new BusinessException("No organization found for orgId: " + orgId);
         }
 
-        List<UserOrganization> userOrgs = userOrganizationRepository.findByOrganization(organizationOpt.get());
-        return userOrgs.stream()
-                .map(UserOrganization::getUser)
-                .map(userAccount -> constructUserDto(userAccount, organizationOpt))
+        return userAccountRepository.findAccountViewsByOrganizationId(organizationId).stream()
+                .map(this::constructUserDto)
                 .toList();
     }
 
@@ -0,0 +1,326 @@
+package com.operationly.usermanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.audit.AuditEventType;
+import com.operationly.usermanagement.datasource.UsePool;
+import com.operationly.usermanagement.datasource.Workload;
+import com.operationly.usermanagement.dto.ImportRejectDto;
+import com.operationly.usermanagement.dto.ImportReportDto;
+import com.operationly.usermanagement.entity.Role;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.importer.CsvImportRowReader;
+import com.operationly.usermanagement.importer.ImportFormat;
+import com.operationly.usermanagement.importer.ImportRow;
+import com.operationly.usermanagement.importer.ImportRowException;
+import com.operationly.usermanagement.importer.ImportRowReader;
+import com.operationly.usermanagement.importer.NdjsonImportRowReader;
+import com.operationly.usermanagement.membership.MembersVersion;
+import com.operationly.usermanagement.repository.OrganizationRepository;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import com.operationly.usermanagement.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@UsePool(Workload.BULK)
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int MAX_REPORTED_REJECTS = 1000;
+    private static final int COPY_FLUSH_CHARS = 64 * 1024;
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMPORARY TABLE user_import_staging (
+                line_no        BIGINT       NOT NULL,
+                workos_user_id VARCHAR(255) NOT NULL,
+                email          VARCHAR(255) NOT NULL,
+                first_name     VARCHAR(255),
+                last_name      VARCHAR(255),
+                email_verified BOOLEAN      NOT NULL,
+                role           VARCHAR(50)  NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING_SQL = "COPY user_import_staging "
+            + "(line_no, workos_user_id, email, first_name, last_name, email_verified, role) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Upserts the staged accounts and their memberships in one statement. Existing accounts keep their
+     * profile (sync with WorkOS owns it) and existing memberships keep their role. When a user appears
+     * more than once in the input, the last row wins. The no-op DO UPDATE returns the id of every staged
+     * account, including one a concurrent sync inserted after the statement's snapshot; xmax is 0 only
+     * for rows this statement inserted. Accounts are locked in workos_user_id order and memberships go
+     * in user id order, the lock order user_primary_organization relies on.
+     * Returns one row per staged line in line order: the account and role, whether it created the user
+     * and the membership, or the later line that superseded it.
+     */
+    private static final String MERGE_SQL = """
+            WITH staged AS (
+                SELECT DISTINCT ON (workos_user_id) line_no, workos_user_id, email, first_name, last_name, email_verified, role
+                FROM user_import_staging
+                ORDER BY workos_user_id, line_no DESC
+            ), accounts AS (
+                INSERT INTO user_account (workos_user_id, email, first_name, last_name, email_verified, created_at, updated_at)
+                SELECT workos_user_id, email, first_name, last_name, email_verified, now(), now() FROM staged
+                ORDER BY workos_user_id
+                ON CONFLICT (workos_user_id) DO UPDATE SET workos_user_id = EXCLUDED.workos_user_id
+                RETURNING id, workos_user_id, xmax = 0 AS created
+            ), memberships AS (
+                INSERT INTO user_organization (user_id, organization_id, role, created_at, updated_at)
+                SELECT a.id, ?, s.role, now(), now() FROM accounts a JOIN staged s ON s.workos_user_id = a.workos_user_id
+                ORDER BY a.id
+                ON CONFLICT (user_id, organization_id) DO NOTHING
+                RETURNING user_id
+            )
+            SELECT s.line_no, a.id AS user_id, a.workos_user_id, s.role, a.created AS created_user,
+                   m.user_id IS NOT NULL AS created_membership, NULL::bigint AS superseded_by
+            FROM staged s
+            JOIN accounts a ON a.workos_user_id = s.workos_user_id
+            LEFT JOIN memberships m ON m.user_id = a.id
+            UNION ALL
+            SELECT st.line_no, NULL, st.workos_user_id, st.role, false, false, s.line_no
+            FROM user_import_staging st
+            JOIN staged s ON s.workos_user_id = st.workos_user_id AND s.line_no <> st.line_no
+            ORDER BY line_no""";
+
+    private final OrganizationRepository organizationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MembersVersion membersVersion;
+    private final ResponseCache responseCache;
+    private final AuditEventAppender auditEventAppender;
+
+    /**
+     * Streams users and memberships into an organization. Rows are validated as they are read, valid
+     * rows are sent to a temporary staging table through PostgreSQL COPY, and the staging table is then
+     * merged into user_account and user_organization with one set-based statement.
+     *
+     * @param orgId  The organization to attach imported users to
+     * @param format Input format
+     * @param input  Request body; read once, never buffered whole
+     * @return Counts plus the first rejected rows with reasons
+     */
+    @Transactional
+    @Override
+    public ImportReportDto importMembers(String orgId, ImportFormat format, InputStream input) {
+        UUID organizationId = UUID.fromString(orgId);
+        if (!organizationRepository.existsByOrganizationId(organizationId)) {
+            throw new BusinessException("No organization found for orgId: " + orgId);
+        }
+
+        ImportTally tally = new ImportTally();
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        try (ImportRowReader reader = openReader(format, input)) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                copyToStaging(connection.unwrap(PGConnection.class), reader, tally);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        jdbcTemplate.query(MERGE_SQL, (RowCallbackHandler) rs -> merged(rs, organizationId, tally), organizationId);
+        if (tally.createdMemberships > 0) {
+            membersVersion.bump(organizationId);
+            responseCache.invalidateAllAfterCommit(ResponseCache.USER_PREFIX);
+        }
+        log.info("Imported {} rows into organization {}: {} rejected, {} skipped, {} users created, {} memberships created",
+                tally.total, orgId, tally.rejected, tally.skipped, tally.createdUsers, tally.createdMemberships);
+
+        return ImportReportDto.builder()
+                .totalRows(tally.total)
+                .acceptedRows(tally.total - tally.rejected - tally.skipped)
+                .rejectedRows(tally.rejected)
+                .skippedRows(tally.skipped)
+                .createdUsers(tally.createdUsers)
+                .createdMemberships(tally.createdMemberships)
+                .rejects(tally.rejects)
+                .skips(tally.skips)
+                .build();
+    }
+
+    /**
+     * Counts a merged line and audits the account and membership it created, like the other
+     * membership write paths do.
+     */
+    private void merged(ResultSet rs, UUID organizationId, ImportTally tally) throws SQLException {
+        boolean createdUser = rs.getBoolean("created_user");
+        boolean createdMembership = rs.getBoolean("created_membership");
+        tally.merged(rs.getLong("line_no"), createdUser, createdMembership, rs.getObject("superseded_by", Long.class));
+        Long userId = rs.getObject("user_id", Long.class);
+        String workosUserId = rs.getString("workos_user_id");
+        if (createdUser) {
+            auditEventAppender.record(AuditEventType.ACCOUNT_CREATED, null, userId, workosUserId, null, null);
+        }
+        if (createdMembership) {
+            auditEventAppender.record(AuditEventType.MEMBERSHIP_ADDED, organizationId, userId, workosUserId,
+                    Role.valueOf(rs.getString("role")), null);
+        }
+    }
+
+    private ImportRowReader openReader(ImportFormat format, InputStream input) throws IOException {
+        return format == ImportFormat.CSV
+                ? new CsvImportRowReader(input)
+                : new NdjsonImportRowReader(input, objectMapper);
+    }
+
+    private void copyToStaging(PGConnection connection, ImportRowReader reader, ImportTally tally)
+            throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_STAGING_SQL);
+        StringBuilder buffer = new StringBuilder(COPY_FLUSH_CHARS + 1024);
+        try {
+            ImportRow row;
+            while ((row = nextRow(reader, tally)) != null) {
+                tally.total++;
+                String rejection = validate(row);
+                if (rejection != null) {
+                    tally.reject(row.lineNumber(), rejection);
+                    continue;
+                }
+                appendCsv(buffer, row);
+                if (buffer.length() >= COPY_FLUSH_CHARS) {
+                    flush(copyIn, buffer);
+                }
+            }
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Skips malformed records, counting them as rejects, until a parsable row or the end of input.
+     */
+    private ImportRow nextRow(ImportRowReader reader, ImportTally tally) {
+        while (true) {
+            try {
+                return reader.next();
+            } catch (ImportRowException e) {
+                tally.total++;
+                tally.reject(e.getLineNumber(), e.getMessage());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private String validate(ImportRow row) {
+        if (row.workosUserId() == null || row.workosUserId().isBlank()) {
+            return "workosUserId is required";
+        }
+        if (row.email() == null || !row.email().contains("@")) {
+            return "A valid email is required";
+        }
+        if (tooLong(row.workosUserId()) || tooLong(row.email()) || tooLong(row.firstName()) || tooLong(row.lastName())) {
+            return "Values must not exceed " + MAX_COLUMN_LENGTH + " characters";
+        }
+        if (row.emailVerified() != null
+                && !"true".equalsIgnoreCase(row.emailVerified()) && !"false".equalsIgnoreCase(row.emailVerified())) {
+            return "emailVerified must be true or false";
+        }
+        if (row.role() != null && !Role.MEMBER.name().equals(row.role()) && !Role.ADMIN.name().equals(row.role())) {
+            return "role must be " + Role.MEMBER.name() + " or " + Role.ADMIN.name();
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_COLUMN_LENGTH;
+    }
+
+    private static void appendCsv(StringBuilder buffer, ImportRow row) {
+        buffer.append(row.lineNumber()).append(',');
+        appendQuoted(buffer, row.workosUserId().trim()).append(',');
+        appendQuoted(buffer, row.email().trim()).append(',');
+        appendQuoted(buffer, row.firstName()).append(',');
+        appendQuoted(buffer, row.lastName()).append(',');
+        buffer.append(Boolean.parseBoolean(row.emailVerified())).append(',');
+        buffer.append(row.role() != null ? row.role() : Role.MEMBER.name()).append('\n');
+    }
+
+    /**
+     * Quotes a value for COPY CSV; null stays an unquoted empty field, which COPY reads as NULL.
+     */
+    private static StringBuilder appendQuoted(StringBuilder buffer, String value) {
+        if (value == null) {
+            return buffer;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static final class ImportTally {
+        private long total;
+        private long rejected;
+        private long skipped;
+        private long createdUsers;
+        private long createdMemberships;
+        private final List<ImportRejectDto> rejects = new ArrayList<>();
+        private final List<ImportRejectDto> skips = new ArrayList<>();
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new ImportRejectDto(lineNumber, reason));
+            }
+        }
+
+        private void merged(long lineNumber, boolean createdUser, boolean createdMembership, Long supersededBy) {
+            if (createdUser) {
+                createdUsers++;
+            }
+            if (createdMembership) {
+                createdMemberships++;
+            } else if (supersededBy != null) {
+                skip(lineNumber, "Superseded by line " + supersededBy + " for the same workosUserId");
+            } else {
+                skip(lineNumber, "Already a member of the organization");
+            }
+        }
+
+        private void skip(long lineNumber, String reason) {
+            skipped++;
+            if (skips.size() < MAX_REPORTED_REJECTS) {
+                skips.add(new ImportRejectDto(lineNumber, reason));
+            }
+        }
+    }
+}
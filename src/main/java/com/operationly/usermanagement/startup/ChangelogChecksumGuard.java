@@ -0,0 +1,135 @@
+package com.operationly.usermanagement.startup;
+
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Skips the Liquibase run on boot when the changelogs bundled with this build are the ones the
+ * database was last migrated with. The checksum is a SHA-256 over every changelog file next to the
+ * master changelog and is recorded in changelog_checksum after each successful run, so a changed
+ * or added changelog always goes through Liquibase. Deleting the row forces the next boot to run it.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "operationly.startup", name = "skip-unchanged-changelog", havingValue = "true")
+public class ChangelogChecksumGuard implements BeanPostProcessor {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final String SELECT_CHECKSUM_SQL =
+            "SELECT checksum FROM changelog_checksum WHERE change_log = ?";
+
+    private static final String UPDATE_CHECKSUM_SQL =
+            "UPDATE changelog_checksum SET checksum = ?, recorded_at = NOW() WHERE change_log = ?";
+
+    private static final String INSERT_CHECKSUM_SQL =
+            "INSERT INTO changelog_checksum (change_log, checksum, recorded_at) VALUES (?, ?, NOW())";
+
+    private String checksum;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringLiquibase liquibase) {
+            checksum = checksum(liquibase.getChangeLog());
+            String recorded = recordedChecksum(liquibase);
+            if (checksum.equals(recorded)) {
+                log.info("Changelog checksum {} matches the database, skipping Liquibase", checksum);
+                liquibase.setShouldRun(false);
+                checksum = null;
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringLiquibase liquibase && checksum != null) {
+            recordChecksum(liquibase, checksum);
+            checksum = null;
+        }
+        return bean;
+    }
+
+    /**
+     * Failing to record only costs the next boot a full Liquibase run, so it never fails startup.
+     */
+    private void recordChecksum(SpringLiquibase liquibase, String checksum) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(liquibase.getDataSource());
+        try {
+            if (jdbcTemplate.update(UPDATE_CHECKSUM_SQL, checksum, liquibase.getChangeLog()) == 0) {
+                jdbcTemplate.update(INSERT_CHECKSUM_SQL, liquibase.getChangeLog(), checksum);
+            }
+            log.info("Recorded changelog checksum {}", checksum);
+        } catch (DataAccessException e) {
+            log.warn("Could not record changelog checksum, the next boot will run Liquibase: {}", e.getMessage());
+        }
+    }
+
+    private String recordedChecksum(SpringLiquibase liquibase) {
+        try {
+            List<String> recorded = new JdbcTemplate(liquibase.getDataSource())
+                    .queryForList(SELECT_CHECKSUM_SQL, String.class, liquibase.getChangeLog());
+            return recorded.isEmpty() ? null : recorded.get(0);
+        } catch (DataAccessException e) {
+            // First run against this database: changelog_checksum does not exist yet
+            log.debug("No recorded changelog checksum: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hashes the file name and content of every XML file under the master changelog's directory, in
+     * name order, so the result does not depend on where the application is unpacked.
+     */
+    static String checksum(String changeLog) {
+        String location = changeLog.startsWith(CLASSPATH_PREFIX) ? changeLog.substring(CLASSPATH_PREFIX.length()) : changeLog;
+        int slash = location.lastIndexOf('/');
+        String directory = slash < 0 ? "" : location.substring(0, slash + 1);
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + directory + "**/*.xml");
+            Arrays.sort(resources, Comparator.comparing(resource -> relativePath(resource, directory)));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource resource : resources) {
+                digest.update(relativePath(resource, directory).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read changelogs under " + directory, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String relativePath(Resource resource, String directory) {
+        try {
+            String url = resource.getURL().toString();
+            int start = directory.isEmpty() ? -1 : url.lastIndexOf("/" + directory);
+            return start < 0 ? Objects.requireNonNull(resource.getFilename()) : url.substring(start + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.operationly.usermanagement.startup;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Buffers the context's startup steps for the actuator startup endpoint when
+ * {@code operationly.startup.record-steps} is set. Recording is not free, so regular instances keep
+ * the default no-op startup. Runs as an initializer rather than in {@code main} so the property can
+ * come from a profile; steps before the context is created are not recorded.
+ */
+public class StartupStepRecorder implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    static final String RECORD_STEPS_PROPERTY = "operationly.startup.record-steps";
+
+    /** Startup steps kept; a boot of this service records well under this. */
+    private static final int STEP_CAPACITY = 4096;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        if (context.getEnvironment().getProperty(RECORD_STEPS_PROPERTY, Boolean.class, false)) {
+            context.setApplicationStartup(new BufferingApplicationStartup(STEP_CAPACITY));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.operationly.usermanagement.startup;
+
+import com.operationly.usermanagement.config.StartupProperties;
+import com.operationly.usermanagement.repository.OrganizationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms the instance up before it takes traffic. Application runners finish before Spring Boot
+ * publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so the readiness probe stays down until the
+ * pools are filled and the organization cache is loaded. The membership index loads on
+ * {@code ApplicationReadyEvent}, which is also published before readiness flips.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private final StartupProperties startupProperties;
+    private final ObjectProvider<HikariDataSource> hikariDataSources;
+    private final OrganizationRepository organizationRepository;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if (startupProperties.isPrefillPools()) {
+            for (HikariDataSource dataSource : hikariDataSources.orderedStream().toList()) {
+                prefill(dataSource);
+            }
+        }
+        if (startupProperties.getWarmupOrganizations() > 0) {
+            warmOrganizationCache(startupProperties.getWarmupOrganizations());
+        }
+    }
+
+    /**
+     * Opens the pool's minimum-idle connections by holding that many at once, instead of leaving
+     * Hikari to add them in the background while the first requests wait.
+     */
+    private void prefill(HikariDataSource dataSource) throws SQLException {
+        long startNanos = System.nanoTime();
+        int connections = Math.min(dataSource.getMinimumIdle(), dataSource.getMaximumPoolSize());
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                held.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        log.info("Prefilled {} with {} connections in {} ms", dataSource.getPoolName(), held.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void warmOrganizationCache(int organizations) {
+        long startNanos = System.nanoTime();
+        int loaded = organizationRepository
+                .findAll(PageRequest.of(0, organizations, Sort.by(Sort.Direction.DESC, "updatedAt")))
+                .getNumberOfElements();
+        log.info("Loaded {} organizations into the second-level cache in {} ms", loaded,
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
@@ -0,0 +1,40 @@
+package com.operationly.usermanagement.util;
+
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fast, well-spread 64-bit string hash. Not cryptographic. Values must stay stable across releases:
+ * hash-ring positions computed by other services depend on them.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class Hash64 {
+
+    /**
+     * FNV-1a over the UTF-8 bytes, finished with a 64-bit mixer to spread the low bits.
+     *
+     * @param key The string to hash
+     * @return The 64-bit hash
+     */
+    public static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * SplitMix64 finalizer; turns any 64-bit value into a well-spread one.
+     *
+     * @param z The value to mix
+     * @return The mixed value
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,184 @@
+package com.operationly.usermanagement.writebehind;
+
+import com.operationly.usermanagement.config.LastSignInBufferProperties;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for user_account.last_sign_in_at. Logins only record the latest timestamp per
+ * user in memory, once their transaction commits; a scheduled flush writes everything pending in
+ * batched UPDATE statements. Flushes never run on a login's thread, so they cannot hold row locks or
+ * share a connection with its transaction. When the buffer is full, a flush is handed to the
+ * background executor and sign-ins of users not yet buffered are dropped until it has room again;
+ * such a user's last_sign_in_at is only behind until their next sign-in. Pending values are flushed
+ * on shutdown. Each flushed user's cached responses are dropped once the row is written, since a
+ * response rendered before that still shows the previous sign-in.
+ */
+@Component
+@Slf4j
+public class LastSignInBuffer {
+
+    private final ConcurrentHashMap<Long, PendingSignIn> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor flushExecutor;
+    private final ResponseCache responseCache;
+    private final int batchSize;
+    private final int maxPendingUsers;
+    private final Counter flushedRows;
+    private final Counter backpressureFlushes;
+    private final Counter droppedSignIns;
+
+    public LastSignInBuffer(JdbcTemplate jdbcTemplate, LastSignInBufferProperties properties,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            TaskExecutor flushExecutor,
+                            ResponseCache responseCache,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushExecutor = flushExecutor;
+        this.responseCache = responseCache;
+        this.batchSize = properties.getBatchSize();
+        this.maxPendingUsers = properties.getMaxPendingUsers();
+        this.flushedRows = meterRegistry.counter("user.last_sign_in.flushed");
+        this.backpressureFlushes = meterRegistry.counter("user.last_sign_in.backpressure");
+        this.droppedSignIns = meterRegistry.counter("user.last_sign_in.dropped");
+        meterRegistry.gauge("user.last_sign_in.pending", pending, Map::size);
+    }
+
+    /**
+     * Records a sign-in once the surrounding transaction commits, or right away outside a
+     * transaction. A rolled-back sign-in is never written.
+     *
+     * @param userId       The user_account id
+     * @param workosUserId The WorkOS user ID, whose cached responses the flush invalidates
+     * @param signedInAt   When the user last signed in
+     */
+    public void record(long userId, String workosUserId, LocalDateTime signedInAt) {
+        PendingSignIn signIn = new PendingSignIn(workosUserId, signedInAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            buffer(userId, signIn);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                buffer(userId, signIn);
+            }
+        });
+    }
+
+    /**
+     * Writes all pending timestamps. Only one flush runs at a time.
+     */
+    @Scheduled(fixedDelayString = "${operationly.last-sign-in.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Map.Entry<Long, PendingSignIn>> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<Long> userIds = pending.keySet().iterator();
+            while (userIds.hasNext()) {
+                Long userId = userIds.next();
+                PendingSignIn signIn = pending.remove(userId);
+                if (signIn != null) {
+                    batch.add(Map.entry(userId, signIn));
+                }
+                if (batch.size() == batchSize) {
+                    write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Dropping {} buffered last_sign_in_at updates at shutdown", pending.size());
+        }
+    }
+
+    private void buffer(long userId, PendingSignIn signIn) {
+        if (pending.size() >= maxPendingUsers && !pending.containsKey(userId)) {
+            droppedSignIns.increment();
+            scheduleFlush();
+            return;
+        }
+        pending.merge(userId, signIn, PendingSignIn::latest);
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        backpressureFlushes.increment();
+        try {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        } catch (RuntimeException e) {
+            flushScheduled.set(false);
+            log.debug("Could not schedule a last_sign_in_at flush, leaving it to the next tick", e);
+        }
+    }
+
+    private void write(List<Map.Entry<Long, PendingSignIn>> batch) {
+        // Rows are locked in user id order, so instances flushing overlapping users cannot deadlock
+        batch.sort(Map.Entry.comparingByKey());
+        StringBuilder sql = new StringBuilder(96 + batch.size() * 32)
+                .append("UPDATE user_account ua SET last_sign_in_at = v.signed_in_at FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?::bigint, ?::timestamp)");
+            args[i * 2] = batch.get(i).getKey();
+            args[i * 2 + 1] = Timestamp.valueOf(batch.get(i).getValue().signedInAt());
+        }
+        // The guard keeps a late flush from moving the timestamp backwards
+        sql.append(") AS v(id, signed_in_at) WHERE ua.id = v.id "
+                + "AND (ua.last_sign_in_at IS NULL OR ua.last_sign_in_at < v.signed_in_at)");
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            flushedRows.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} last_sign_in_at updates, keeping them for the next flush", batch.size(), e);
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), PendingSignIn::latest));
+            return;
+        }
+        batch.forEach(entry -> responseCache.invalidateAfterCommit(ResponseCache.userKey(entry.getValue().workosUserId())));
+    }
+
+    private record PendingSignIn(String workosUserId, LocalDateTime signedInAt) {
+
+        private static PendingSignIn latest(PendingSignIn current, PendingSignIn incoming) {
+            return incoming.signedInAt().isAfter(current.signedInAt()) ? incoming : current;
+        }
+    }
+}
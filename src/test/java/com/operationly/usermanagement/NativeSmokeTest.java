@@ -0,0 +1,129 @@
+package com.operationly.usermanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls every controller endpoint of a running instance, normally the native executable built with
+ * {@code -Pnative}, to catch reflection or resource hints missing from the image. The instance must
+ * use the database behind {@value LocalPostgres#URL_ENV}, where the test seeds a user and removes
+ * what it created afterwards, e.g.
+ * {@code NATIVE_SMOKE_BASE_URL=http://localhost:8181/operationly/user-management}.
+ * {@code /users/sync} is left out because it calls WorkOS, and the reactive endpoint because it is
+ * off by default.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = NativeSmokeTest.BASE_URL_ENV, matches = ".+")
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class NativeSmokeTest {
+
+    static final String BASE_URL_ENV = "NATIVE_SMOKE_BASE_URL";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl = System.getenv(BASE_URL_ENV);
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final String workosUserId = "user_smoke_" + runId;
+    private final String importedWorkosUserId = "user_smoke_import_" + runId;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private long userId;
+    private String orgId;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = LocalPostgres.connect(2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO user_account (workos_user_id, email) VALUES (?, ?) RETURNING id",
+                Long.class, workosUserId, workosUserId + "@example.com");
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (jdbcTemplate != null) {
+            if (orgId != null) {
+                jdbcTemplate.update("DELETE FROM user_organization WHERE organization_id = ?::uuid", orgId);
+                jdbcTemplate.update("DELETE FROM organization WHERE organization_id = ?::uuid", orgId);
+            }
+            jdbcTemplate.update("DELETE FROM user_account WHERE workos_user_id IN (?, ?)",
+                    workosUserId, importedWorkosUserId);
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void everyEndpoint_ShouldRespondFromTheRunningInstance() throws Exception {
+        HttpResponse<String> created = send(post("/api/v1/organizations?organizationName="
+                + URLEncoder.encode("Smoke " + runId, StandardCharsets.UTF_8), "", "application/json"));
+        assertEquals(200, created.statusCode(), created.body());
+
+        JsonNode context = json(send(get("/api/v1/users/context?workosUserId=" + workosUserId)));
+        orgId = context.get("organizationId").asText();
+        assertEquals(workosUserId, context.get("workosUserId").asText());
+
+        assertEquals(workosUserId, json(send(get("/api/v1/users/me"))).at("/response/workosUserId").asText());
+        assertEquals(userId, json(send(get("/api/v1/users/" + userId))).at("/response/id").asLong());
+        assertEquals(1, json(send(get("/api/v1/users/org/" + orgId))).get("response").size());
+        assertEquals(orgId, json(send(get("/api/v1/organizations/" + orgId))).at("/response/organizationId").asText());
+        assertTrue(json(send(get("/api/v1/organizations"))).get("response").isArray());
+
+        String members = "/api/v1/organizations/" + orgId + "/members";
+        String ndjson = "{\"workosUserId\":\"" + importedWorkosUserId + "\",\"email\":\"" + importedWorkosUserId
+                + "@example.com\"}\n";
+        assertEquals(1, json(send(post(members + "/import", ndjson, "application/x-ndjson")))
+                .at("/response/acceptedRows").asLong());
+
+        HttpResponse<String> export = send(get(members + "/export?format=csv"));
+        assertEquals(200, export.statusCode());
+        assertTrue(export.body().contains(workosUserId) && export.body().contains(importedWorkosUserId), export.body());
+
+        assertEquals("ADMIN", json(send(get(members + "/" + userId + "/role"))).at("/response/role").asText());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("x-workos-user-id", workosUserId)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String body, String contentType) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("x-workos-user-id", workosUserId)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
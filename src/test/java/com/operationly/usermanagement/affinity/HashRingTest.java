@@ -0,0 +1,106 @@
+package com.operationly.usermanagement.affinity;
+
+import com.operationly.usermanagement.affinity.client.HashRing;
+import com.operationly.usermanagement.config.AffinityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.commons.util.InetUtils;
+import org.springframework.cloud.commons.util.InetUtilsProperties;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the ring the way a routing client would, from the tokens each instance publishes in its
+ * Eureka metadata.
+ */
+class HashRingTest {
+
+    private static final int USERS = 20_000;
+
+    private final Map<String, long[]> published = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 4; i++) {
+            String instanceId = "10.0.0." + i + ":user-management:8080";
+            published.put(instanceId, HashRing.decodeTokens(publishTokens(instanceId)));
+        }
+    }
+
+    @Test
+    void owner_ShouldSpreadUsersEvenly() {
+        // Arrange
+        HashRing ring = HashRing.of(published);
+        Map<String, Integer> usersPerInstance = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < USERS; i++) {
+            usersPerInstance.merge(ring.owner("user_" + i), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(4, usersPerInstance.size());
+        usersPerInstance.values().forEach(users ->
+                assertTrue(users > USERS * 0.15 && users < USERS * 0.35, "Uneven share: " + usersPerInstance));
+    }
+
+    @Test
+    void owner_InstanceLeaves_ShouldMoveOnlyItsUsersToTheirNextOwner() {
+        // Arrange
+        HashRing before = HashRing.of(published);
+        String leaving = published.keySet().iterator().next();
+
+        // Act
+        published.remove(leaving);
+        HashRing after = HashRing.of(published);
+
+        // Assert
+        for (int i = 0; i < USERS; i++) {
+            List<String> candidates = before.owners("user_" + i);
+            String expected = candidates.get(0).equals(leaving) ? candidates.get(1) : candidates.get(0);
+            assertEquals(expected, after.owner("user_" + i));
+        }
+    }
+
+    @Test
+    void owners_ShouldListEveryInstanceOnceOwnerFirst() {
+        HashRing ring = HashRing.of(published);
+
+        List<String> owners = ring.owners("user_42");
+
+        assertEquals(ring.owner("user_42"), owners.get(0));
+        assertEquals(4, owners.size());
+        assertEquals(published.keySet(), Set.copyOf(owners));
+    }
+
+    @Test
+    void publishedTokens_ShouldSurviveRestart() {
+        String instanceId = "10.0.0.9:user-management:8080";
+
+        assertEquals(publishTokens(instanceId), publishTokens(instanceId));
+        assertArrayEquals(HashRing.tokensFor(instanceId, HashRing.DEFAULT_TOKENS),
+                HashRing.decodeTokens(publishTokens(instanceId)));
+    }
+
+    /**
+     * Post-processes an instance config the way it is before registering, and returns the tokens it
+     * publishes to Eureka.
+     */
+    private static String publishTokens(String instanceId) {
+        EurekaInstanceConfigBean instanceConfig = new EurekaInstanceConfigBean(new InetUtils(new InetUtilsProperties()));
+        instanceConfig.setInstanceId(instanceId);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("affinityProperties", new AffinityProperties());
+        new HashRingMetadataContributor(beanFactory.getBeanProvider(AffinityProperties.class))
+                .postProcessAfterInitialization(instanceConfig, "eurekaInstanceConfigBean");
+        return instanceConfig.getMetadataMap().get(HashRing.TOKENS_METADATA_KEY);
+    }
+}
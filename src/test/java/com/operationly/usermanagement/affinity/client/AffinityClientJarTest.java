@@ -0,0 +1,56 @@
+package com.operationly.usermanagement.affinity.client;
+
+import com.operationly.usermanagement.util.Hash64;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the affinity-client jar is self-contained: the classes it packages (the includes of the
+ * affinity-client execution in pom.xml) reference no other class of this service.
+ */
+class AffinityClientJarTest {
+
+    private static final String CLIENT_PACKAGE = "com/operationly/usermanagement/affinity/client/";
+    private static final String HASH64 = Hash64.class.getName().replace('.', '/');
+    private static final Pattern SERVICE_CLASS = Pattern.compile("com/operationly/[A-Za-z0-9_/$]+");
+
+    @Test
+    void clientClasses_ShouldOnlyReferenceClassesInTheClientJar() throws Exception {
+        // Arrange
+        Path classes = Path.of(HashRing.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<Path> packaged;
+        try (Stream<Path> files = Files.walk(classes.resolve(CLIENT_PACKAGE))) {
+            packaged = files.filter(file -> file.toString().endsWith(".class")).toList();
+        }
+
+        // Act
+        Set<String> outside = new TreeSet<>();
+        for (Path file : packaged) {
+            Matcher referenced = SERVICE_CLASS.matcher(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1));
+            while (referenced.find()) {
+                if (!isPackaged(referenced.group())) {
+                    outside.add(classes.relativize(file) + " -> " + referenced.group());
+                }
+            }
+        }
+
+        // Assert
+        assertTrue(packaged.size() >= 3, "Client classes not found under " + classes);
+        assertEquals(Set.of(), outside);
+    }
+
+    private static boolean isPackaged(String className) {
+        return className.startsWith(CLIENT_PACKAGE) || className.equals(HASH64) || className.startsWith(HASH64 + "$");
+    }
+}
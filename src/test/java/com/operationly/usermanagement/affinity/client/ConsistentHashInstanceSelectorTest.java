@@ -0,0 +1,201 @@
+package com.operationly.usermanagement.affinity.client;
+
+import com.operationly.usermanagement.affinity.HashRingMetadataContributor;
+import com.operationly.usermanagement.config.AffinityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.commons.util.InetUtils;
+import org.springframework.cloud.commons.util.InetUtilsProperties;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashInstanceSelectorTest {
+
+    private static final String SERVICE_ID = "user-management";
+    private static final int USERS = 20_000;
+
+    private final LocalRegistry registry = new LocalRegistry();
+    private final ConsistentHashInstanceSelector selector = new ConsistentHashInstanceSelector();
+    private UserAffinityLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 4; i++) {
+            registry.register(startInstance("10.0.0." + i));
+        }
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("registry", registry);
+        loadBalancer = new UserAffinityLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class),
+                SERVICE_ID, selector);
+    }
+
+    @Test
+    void select_ShouldGiveEachUserOneInstanceAndSpreadUsersEvenly() {
+        // Arrange
+        Map<String, Integer> usersPerInstance = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < USERS; i++) {
+            ServiceInstance owner = selector.select(registry.instances(), "user_" + i);
+            assertSame(owner, selector.select(registry.instances(), "user_" + i));
+            usersPerInstance.merge(owner.getInstanceId(), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(4, usersPerInstance.size());
+        usersPerInstance.values().forEach(users ->
+                assertTrue(users > USERS * 0.15 && users < USERS * 0.35, "Uneven share: " + usersPerInstance));
+    }
+
+    @Test
+    void select_InstanceLeaves_ShouldMoveOnlyItsUsersToTheirNextOwner() {
+        // Arrange
+        Map<String, List<ServiceInstance>> before = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            before.put("user_" + i, selector.candidates(registry.instances(), "user_" + i));
+        }
+        ServiceInstance leaving = registry.instances().get(1);
+
+        // Act
+        registry.deregister(leaving);
+
+        // Assert
+        before.forEach((user, candidates) -> {
+            ServiceInstance expected = candidates.get(0) == leaving ? candidates.get(1) : candidates.get(0);
+            assertEquals(expected.getInstanceId(), selector.select(registry.instances(), user).getInstanceId());
+        });
+    }
+
+    @Test
+    void choose_UserRequests_ShouldHitOnlyTheOwnersCache() {
+        // Arrange
+        Map<String, Set<String>> cachedUsers = new HashMap<>();
+
+        // Act
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                String user = "user_" + i;
+                String path = i % 2 == 0 ? "/api/v1/users/me" : "/api/v1/users/context";
+                ServiceInstance instance = choose(request(path, user));
+                cachedUsers.computeIfAbsent(instance.getInstanceId(), id -> new HashSet<>()).add(user);
+            }
+        }
+
+        // Assert
+        assertEquals(1_000, cachedUsers.values().stream().mapToInt(Set::size).sum());
+    }
+
+    @Test
+    void choose_Retry_ShouldFailOverToNextOwner() {
+        // Arrange
+        ServiceInstance owner = choose(request("/api/v1/users/me", "user_42"));
+        RetryableRequestContext retry = new RetryableRequestContext(owner,
+                new RequestData(HttpMethod.GET, URI.create("http://user-management/api/v1/users/me"),
+                        headers("user_42"), new LinkedMultiValueMap<>(), Map.of()));
+
+        // Act
+        ServiceInstance fallback = choose(new DefaultRequest<>(retry));
+
+        // Assert
+        assertNotEquals(owner.getInstanceId(), fallback.getInstanceId());
+        assertEquals(selector.candidates(registry.instances(), "user_42").get(1).getInstanceId(),
+                fallback.getInstanceId());
+    }
+
+    @Test
+    void choose_OtherPaths_ShouldUseEveryInstance() {
+        // Arrange
+        Set<String> chosen = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            chosen.add(choose(request("/api/v1/organizations", "user_42")).getInstanceId());
+        }
+
+        // Assert
+        assertEquals(4, chosen.size());
+    }
+
+    /**
+     * Creates an instance the way it registers with Eureka, tokens included.
+     */
+    private static ServiceInstance startInstance(String host) {
+        EurekaInstanceConfigBean instanceConfig = new EurekaInstanceConfigBean(new InetUtils(new InetUtilsProperties()));
+        instanceConfig.setInstanceId(host + ":" + SERVICE_ID + ":8080");
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("affinityProperties", new AffinityProperties());
+        new HashRingMetadataContributor(beanFactory.getBeanProvider(AffinityProperties.class))
+                .postProcessAfterInitialization(instanceConfig, "eurekaInstanceConfigBean");
+        return new DefaultServiceInstance(instanceConfig.getInstanceId(), SERVICE_ID, host, 8080, false,
+                Map.copyOf(instanceConfig.getMetadataMap()));
+    }
+
+    private ServiceInstance choose(Request<?> request) {
+        return loadBalancer.choose(request).block().getServer();
+    }
+
+    private static Request<RequestDataContext> request(String path, String workosUserId) {
+        return new DefaultRequest<>(new RequestDataContext(new RequestData(HttpMethod.GET,
+                URI.create("http://user-management" + path), headers(workosUserId), new LinkedMultiValueMap<>(),
+                Map.of())));
+    }
+
+    private static HttpHeaders headers(String workosUserId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-workos-user-id", workosUserId);
+        return headers;
+    }
+
+    /**
+     * Stand-in for the Eureka registry as seen by a client.
+     */
+    private static final class LocalRegistry implements ServiceInstanceListSupplier {
+
+        private final List<ServiceInstance> instances = new CopyOnWriteArrayList<>();
+
+        void register(ServiceInstance instance) {
+            instances.add(instance);
+        }
+
+        void deregister(ServiceInstance instance) {
+            instances.remove(instance);
+        }
+
+        List<ServiceInstance> instances() {
+            return new ArrayList<>(instances);
+        }
+
+        @Override
+        public String getServiceId() {
+            return SERVICE_ID;
+        }
+
+        @Override
+        public Flux<List<ServiceInstance>> get() {
+            return Flux.just(instances());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.operationly.usermanagement.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.AuditProperties;
+import com.operationly.usermanagement.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventAppenderTest {
+
+    private static final UUID ORG_ID = UUID.randomUUID();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final TaskExecutor callerRuns = Runnable::run;
+    private AuditProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void flush_ShouldWriteQueuedEventsInOneMultiRowInsert() {
+        AuditEventAppender appender = newAppender();
+        appender.record(AuditEventType.ORGANIZATION_CREATED, ORG_ID, 1L, "user_1", Role.ADMIN, Map.of("name", "Acme"));
+        appender.record(AuditEventType.MEMBERSHIP_ADDED, ORG_ID, 2L, "user_2", Role.MEMBER, null);
+
+        appender.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().endsWith("VALUES (?, ?, ?, ?, ?, ?::jsonb, ?), (?, ?, ?, ?, ?, ?::jsonb, ?)"));
+        List<Object> values = Arrays.asList(args.getValue()).subList(0, 6);
+        assertEquals(List.of("ORGANIZATION_CREATED", ORG_ID, 1L, "user_1", "ADMIN", "{\"name\":\"Acme\"}"), values);
+        assertEquals(2.0, meterRegistry.get("audit.events.written").counter().count());
+    }
+
+    @Test
+    void append_WhenBatchIsFull_ShouldFlushWithoutWaitingForTheSchedule() {
+        properties.setBatchSize(2);
+        AuditEventAppender appender = newAppender();
+
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 1L, "user_1", null, null);
+        verifyNoInteractions(jdbcTemplate);
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 2L, "user_2", null, null);
+
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+        assertEquals(0.0, meterRegistry.get("audit.events.pending").gauge().value());
+    }
+
+    @Test
+    void append_WhenQueueIsFull_ShouldDropAndFlushInBackground() {
+        properties.setQueueCapacity(2);
+        List<Runnable> scheduled = new ArrayList<>();
+        AuditEventAppender appender = newAppender(scheduled::add);
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 1L, "user_1", null, null);
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 2L, "user_2", null, null);
+
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 3L, "user_3", null, null);
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 4L, "user_4", null, null);
+
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(2.0, meterRegistry.get("audit.events.dropped").counter().count());
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+        assertEquals(2.0, meterRegistry.get("audit.events.written").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.events.pending").gauge().value());
+    }
+
+    @Test
+    void record_InsideTransaction_ShouldQueueOnlyAfterCommit() {
+        AuditEventAppender appender = newAppender();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            appender.record(AuditEventType.MEMBERSHIP_ADDED, ORG_ID, 1L, "user_1", Role.MEMBER, null);
+            assertEquals(0.0, meterRegistry.get("audit.events.pending").gauge().value());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1.0, meterRegistry.get("audit.events.pending").gauge().value());
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldKeepEventsForNextFlush() {
+        AuditEventAppender appender = newAppender();
+        appender.record(AuditEventType.ACCOUNT_CREATED, null, 1L, "user_1", null, null);
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        appender.flush();
+        assertEquals(1.0, meterRegistry.get("audit.events.pending").gauge().value());
+        appender.flush();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        assertEquals(1.0, meterRegistry.get("audit.events.written").counter().count());
+        assertEquals(1.0, meterRegistry.get("audit.flush.failures").counter().count());
+    }
+
+    private AuditEventAppender newAppender() {
+        return newAppender(callerRuns);
+    }
+
+    private AuditEventAppender newAppender(TaskExecutor flushExecutor) {
+        return new AuditEventAppender(jdbcTemplate, new ObjectMapper(), properties, flushExecutor, meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.operationly.usermanagement.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(20, 5, 200, 0.2, 1.5, 0.9, 0.5);
+
+    @Test
+    void tryAcquire_ShouldShedLowPriorityBeforeHigh() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(Priority.HIGH) >= 0);
+        }
+
+        assertEquals(-1, limiter.tryAcquire(Priority.LOW));
+        assertEquals(10, limiter.tryAcquire(Priority.NORMAL));
+        for (int i = 0; i < 9; i++) {
+            assertTrue(limiter.tryAcquire(Priority.HIGH) >= 0);
+        }
+        assertEquals(-1, limiter.tryAcquire(Priority.HIGH));
+        assertEquals(20, limiter.getInFlight());
+    }
+
+    @Test
+    void release_SteadyLatencyAtCapacity_ShouldRaiseLimit() {
+        for (int i = 0; i < 200; i++) {
+            limiter.release(FAST, limiter.tryAcquire(Priority.HIGH) + limiter.getLimit());
+        }
+
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_RisingLatency_ShouldLowerLimit() {
+        for (int i = 0; i < 50; i++) {
+            limiter.release(FAST, limiter.tryAcquire(Priority.HIGH) + limiter.getLimit());
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(SLOW, limiter.tryAcquire(Priority.HIGH) + limiter.getLimit());
+        }
+
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void release_FarBelowLimit_ShouldNotChangeLimit() {
+        for (int i = 0; i < 100; i++) {
+            limiter.release(i % 2 == 0 ? FAST : SLOW, limiter.tryAcquire(Priority.HIGH));
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+}
@@ -0,0 +1,58 @@
+package com.operationly.usermanagement.datasource;
+
+import com.operationly.usermanagement.config.DataSourceRoutingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTrackerTest {
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(new DataSourceRoutingProperties());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordWrite_WhenNoTransaction_ShouldPinImmediately() {
+        tracker.recordWrite("user_1");
+
+        assertTrue(tracker.isPinnedToPrimary("user_1"));
+        assertFalse(tracker.isPinnedToPrimary("user_2"));
+        assertFalse(tracker.isPinnedToPrimary(null));
+    }
+
+    @Test
+    void recordWrite_InTransaction_ShouldPinOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        tracker.recordWrite("user_1");
+
+        // Assert
+        assertFalse(tracker.isPinnedToPrimary("user_1"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(tracker.isPinnedToPrimary("user_1"));
+    }
+
+    @Test
+    void recordWrite_WhenTransactionRollsBack_ShouldNotPin() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        tracker.recordWrite("user_1");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertFalse(tracker.isPinnedToPrimary("user_1"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.operationly.usermanagement.datasource;
+
+import com.operationly.usermanagement.config.DataSourceRoutingConfig;
+import com.operationly.usermanagement.config.DataSourceRoutingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final ReadYourWritesTracker readYourWritesTracker =
+            new ReadYourWritesTracker(new DataSourceRoutingProperties());
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        DataSourceRoutingContext.clear();
+    }
+
+    @Test
+    void usePool_ShouldRouteAnnotatedMethodsAndClassesToTheirPool() {
+        // Arrange
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(readYourWritesTracker, false);
+        UserLookups lookups = proxy(new UserLookups(routing));
+        MemberImports imports = proxy(new MemberImports(routing));
+
+        // Act & Assert
+        assertEquals(DataSourceRoute.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(DataSourceRoute.READ, lookups.readRoute());
+        assertEquals(DataSourceRoute.PRIMARY, lookups.unannotatedRoute());
+        assertEquals(DataSourceRoute.BULK, imports.route());
+        assertNull(DataSourceRoutingContext.getWorkload());
+    }
+
+    @Test
+    void usePool_ShouldKeepTheOuterWorkloadForNestedCalls() {
+        // Arrange
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(readYourWritesTracker, false);
+        UserLookups lookups = proxy(new UserLookups(routing));
+        MemberImports imports = proxy(new MemberImports(routing, lookups));
+
+        // Act
+        DataSourceRoute[] routes = imports.routesAroundNestedRead();
+
+        // Assert
+        assertArrayEquals(new DataSourceRoute[]{DataSourceRoute.READ, DataSourceRoute.BULK}, routes);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldPreferReplicaOnlyWhenConfigured() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        DataSourceRoutingContext.setWorkload(Workload.READ);
+
+        // Act & Assert
+        assertEquals(DataSourceRoute.REPLICA,
+                new WorkloadRoutingDataSource(readYourWritesTracker, true).determineCurrentLookupKey());
+        assertEquals(DataSourceRoute.READ,
+                new WorkloadRoutingDataSource(readYourWritesTracker, false).determineCurrentLookupKey());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(DataSourceRoutingConfig.usePoolAdvisor());
+        return (T) proxyFactory.getProxy();
+    }
+
+    static class UserLookups {
+
+        private final WorkloadRoutingDataSource routing;
+
+        UserLookups(WorkloadRoutingDataSource routing) {
+            this.routing = routing;
+        }
+
+        @UsePool(Workload.READ)
+        public Object readRoute() {
+            return routing.determineCurrentLookupKey();
+        }
+
+        public Object unannotatedRoute() {
+            return routing.determineCurrentLookupKey();
+        }
+    }
+
+    @UsePool(Workload.BULK)
+    static class MemberImports {
+
+        private final WorkloadRoutingDataSource routing;
+        private final UserLookups lookups;
+
+        MemberImports(WorkloadRoutingDataSource routing) {
+            this(routing, null);
+        }
+
+        MemberImports(WorkloadRoutingDataSource routing, UserLookups lookups) {
+            this.routing = routing;
+            this.lookups = lookups;
+        }
+
+        public Object route() {
+            return routing.determineCurrentLookupKey();
+        }
+
+        public DataSourceRoute[] routesAroundNestedRead() {
+            DataSourceRoute nested = (DataSourceRoute) lookups.readRoute();
+            return new DataSourceRoute[]{nested, (DataSourceRoute) routing.determineCurrentLookupKey()};
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.operationly.usermanagement.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberExportWriterTest {
+
+    private static final MemberExportRow ROW = new MemberExportRow(7L, "user_7", "jane@example.com",
+            "Jane, \"J\"", null, true, "ADMIN", LocalDateTime.of(2026, 1, 2, 3, 4, 5), null);
+
+    @Test
+    void csv_ShouldWriteHeaderAndQuoteOnlyWhenNeeded() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (MemberExportWriter writer = new CsvMemberExportWriter(output)) {
+            writer.write(ROW);
+        }
+
+        assertEquals(CsvMemberExportWriter.HEADER + "\r\n"
+                        + "user_7,jane@example.com,\"Jane, \"\"J\"\"\",,true,ADMIN,7,2026-01-02T03:04:05,\r\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneObjectPerLine() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (MemberExportWriter writer = new NdjsonMemberExportWriter(output, objectMapper)) {
+            writer.write(ROW);
+            writer.write(ROW);
+        }
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("user_7", first.get("workosUserId").asText());
+        assertEquals("Jane, \"J\"", first.get("firstName").asText());
+        assertTrue(first.get("lastName").isNull());
+        assertEquals("2026-01-02T03:04:05", first.get("joinedAt").asText());
+    }
+}
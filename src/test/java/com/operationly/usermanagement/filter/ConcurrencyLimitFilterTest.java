@@ -0,0 +1,86 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.concurrency.Priority;
+import com.operationly.usermanagement.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final String CONTEXT_PATH = "/operationly/user-management";
+
+    private final FilterChain filterChain = mock(FilterChain.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        concurrencyLimitFilter = new ConcurrencyLimitFilter(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void classify_ShouldUseConfiguredPriorities() {
+        assertEquals(Priority.HIGH, concurrencyLimitFilter.classify(request("GET", "/api/v1/users/context")));
+        assertEquals(Priority.LOW, concurrencyLimitFilter.classify(request("GET", "/api/v1/organizations")));
+        assertEquals(Priority.NORMAL, concurrencyLimitFilter.classify(request("POST", "/api/v1/organizations")));
+        assertEquals(Priority.LOW, concurrencyLimitFilter.classify(request("GET", "/api/v1/users/org/abc")));
+    }
+
+    @Test
+    void doFilter_WhenBusy_ShouldShedLowPriorityAndAdmitHigh() throws ServletException, IOException {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            concurrencyLimitFilter.getLimiter().tryAcquire(Priority.HIGH);
+        }
+        MockHttpServletResponse low = new MockHttpServletResponse();
+        MockHttpServletResponse high = new MockHttpServletResponse();
+
+        // Act
+        concurrencyLimitFilter.doFilter(request("GET", "/api/v1/organizations"), low, filterChain);
+        concurrencyLimitFilter.doFilter(request("GET", "/api/v1/users/context"), high, filterChain);
+
+        // Assert
+        assertEquals(503, low.getStatus());
+        assertEquals("1", low.getHeader("Retry-After"));
+        assertEquals(200, high.getStatus());
+        verify(filterChain, times(1)).doFilter(any(), any());
+        assertEquals(1, meterRegistry.counter("concurrency.shed", "priority", "low").count());
+        assertEquals(6, meterRegistry.get("concurrency.in_flight").gauge().value());
+    }
+
+    @Test
+    void doFilter_Actuator_ShouldNeverBeLimited() throws ServletException, IOException {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            concurrencyLimitFilter.getLimiter().tryAcquire(Priority.HIGH);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        concurrencyLimitFilter.doFilter(request("GET", "/actuator/health"), response, filterChain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, CONTEXT_PATH + path);
+        request.setContextPath(CONTEXT_PATH);
+        return request;
+    }
+}
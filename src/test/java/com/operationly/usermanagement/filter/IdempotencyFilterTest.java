@@ -0,0 +1,155 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.IdempotencyProperties;
+import com.operationly.usermanagement.idempotency.IdempotencyRecord;
+import com.operationly.usermanagement.idempotency.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String KEY = "retry-key-1";
+    private static final String USER = "workos_123";
+    private static final UUID CLAIM = UUID.randomUUID();
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, new IdempotencyProperties(), new ObjectMapper());
+    }
+
+    @Test
+    void doFilter_FirstRequest_ShouldExecuteAndStoreResponse() throws ServletException, IOException {
+        // Arrange
+        when(idempotencyStore.find(USER, KEY)).thenReturn(null);
+        when(idempotencyStore.tryClaim(eq(USER), eq(KEY), any())).thenReturn(CLAIM);
+        doAnswer(invocation -> {
+            invocation.<ServletResponse>getArgument(1).getOutputStream()
+                    .write("{\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        idempotencyFilter.doFilter(request("Acme"), response, filterChain);
+
+        // Assert
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(idempotencyStore).complete(eq(USER), eq(KEY), eq(CLAIM), any(), eq(200), any(), body.capture());
+        assertEquals("{\"status\":\"SUCCESS\"}", new String(body.getValue(), StandardCharsets.UTF_8));
+        assertEquals("{\"status\":\"SUCCESS\"}", response.getContentAsString());
+        verify(idempotencyStore, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void doFilter_Retry_ShouldReplayStoredResponseWithoutExecuting() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest first = request("Acme");
+        byte[] hash = captureRequestHash(first);
+        when(idempotencyStore.find(USER, KEY)).thenReturn(new IdempotencyRecord(hash, true, 200,
+                "application/json", "{\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        idempotencyFilter.doFilter(request("Acme"), response, filterChain);
+
+        // Assert
+        verify(filterChain, never()).doFilter(any(), any());
+        assertEquals(200, response.getStatus());
+        assertEquals("true", response.getHeader("Idempotent-Replayed"));
+        assertEquals("{\"status\":\"SUCCESS\"}", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_KeyReusedForDifferentRequest_ShouldReturnUnprocessableEntity() throws ServletException, IOException {
+        // Arrange
+        byte[] hash = captureRequestHash(request("Acme"));
+        when(idempotencyStore.find(USER, KEY)).thenReturn(new IdempotencyRecord(hash, true, 200, null, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        idempotencyFilter.doFilter(request("Other"), response, filterChain);
+
+        // Assert
+        verify(filterChain, never()).doFilter(any(), any());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ServerError_ShouldReleaseKey() throws ServletException, IOException {
+        // Arrange
+        when(idempotencyStore.find(USER, KEY)).thenReturn(null);
+        when(idempotencyStore.tryClaim(eq(USER), eq(KEY), any())).thenReturn(CLAIM);
+        doAnswer(invocation -> {
+            invocation.<HttpServletResponse>getArgument(1).setStatus(500);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // Act
+        idempotencyFilter.doFilter(request("Acme"), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(idempotencyStore).release(USER, KEY, CLAIM);
+        verify(idempotencyStore, never()).complete(any(), any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void doFilter_WithoutKey_ShouldPassThrough() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = request("Acme");
+        request.removeHeader("Idempotency-Key");
+
+        // Act
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    private byte[] captureRequestHash(MockHttpServletRequest request) throws ServletException, IOException {
+        IdempotencyStore recorder = mock(IdempotencyStore.class);
+        when(recorder.tryClaim(any(), any(), any())).thenReturn(CLAIM);
+        new IdempotencyFilter(recorder, new IdempotencyProperties(), new ObjectMapper())
+                .doFilter(request, new MockHttpServletResponse(), mock(FilterChain.class));
+        ArgumentCaptor<byte[]> hash = ArgumentCaptor.forClass(byte[].class);
+        verify(recorder).tryClaim(any(), any(), hash.capture());
+        return hash.getValue();
+    }
+
+    private static MockHttpServletRequest request(String organizationName) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/operationly/user-management/api/v1/organizations");
+        request.setContextPath("/operationly/user-management");
+        request.setParameter("organizationName", organizationName);
+        request.addHeader("Idempotency-Key", KEY);
+        request.addHeader("x-workos-user-id", USER);
+        return request;
+    }
+}
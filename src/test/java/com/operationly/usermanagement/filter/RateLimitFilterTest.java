@@ -0,0 +1,84 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private static final String CONTEXT_PATH = "/operationly/user-management";
+
+    private final FilterChain filterChain = mock(FilterChain.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Endpoint sync = new RateLimitProperties.Endpoint();
+        sync.setPath("/api/v1/users/sync");
+        sync.setRequests(1);
+        sync.setPeriod(Duration.ofMinutes(1));
+        sync.setBurst(2);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEndpoints(List.of(sync));
+        rateLimitFilter = new RateLimitFilter(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void doFilter_OverLimit_ShouldRejectWith429AndRetryAfter() throws ServletException, IOException {
+        // Arrange
+        rateLimitFilter.doFilter(request("/api/v1/users/sync", "user_1"), new MockHttpServletResponse(), filterChain);
+        rateLimitFilter.doFilter(request("/api/v1/users/sync", "user_1"), new MockHttpServletResponse(), filterChain);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        rateLimitFilter.doFilter(request("/api/v1/users/sync", "user_1"), response, filterChain);
+
+        // Assert
+        verify(filterChain, times(2)).doFilter(any(), any());
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":\"FAILURE\""));
+        assertEquals(1, meterRegistry.counter("rate.limit.rejected", "path", "/api/v1/users/sync").count());
+    }
+
+    @Test
+    void doFilter_OtherUserOrPath_ShouldPassThrough() throws ServletException, IOException {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimitFilter.doFilter(request("/api/v1/users/sync", "user_1"), new MockHttpServletResponse(), filterChain);
+        }
+        MockHttpServletResponse otherUser = new MockHttpServletResponse();
+        MockHttpServletResponse otherPath = new MockHttpServletResponse();
+
+        // Act
+        rateLimitFilter.doFilter(request("/api/v1/users/sync", "user_2"), otherUser, filterChain);
+        rateLimitFilter.doFilter(request("/api/v1/users/context", "user_1"), otherPath, filterChain);
+
+        // Assert
+        assertEquals(200, otherUser.getStatus());
+        assertEquals(200, otherPath.getStatus());
+        verify(filterChain, times(4)).doFilter(any(), any());
+    }
+
+    private static MockHttpServletRequest request(String path, String workosUserId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", CONTEXT_PATH + path);
+        request.setContextPath(CONTEXT_PATH);
+        request.addHeader("x-workos-user-id", workosUserId);
+        return request;
+    }
+}
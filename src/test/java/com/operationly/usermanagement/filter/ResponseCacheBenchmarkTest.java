@@ -0,0 +1,165 @@
+package com.operationly.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.config.ResponseCacheProperties;
+import com.operationly.usermanagement.dto.BaseResponse;
+import com.operationly.usermanagement.dto.OrganizationDto;
+import com.operationly.usermanagement.dto.UserAccountDto;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static com.operationly.usermanagement.constants.UserConstants.SUCCESS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the CPU time per GET /users/me spent building the DTO and serializing it, as every request
+ * does without the response cache, with serving the same body from the cache through
+ * {@link ResponseCacheFilter}. Database time is left out of both. Run with {@code RUN_BENCHMARKS=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class ResponseCacheBenchmarkTest {
+
+    private static final String USER = "user_01HBENCHMARK";
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void cacheHit_ShouldUseLessCpuThanDtoPath() throws Exception {
+        FilterChain dtoPath = (request, response) -> render(response);
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        ResponseCacheFilter filter = new ResponseCacheFilter(new ResponseCache(properties, new SimpleMeterRegistry()));
+        filter.doFilter(request(), new MockHttpServletResponse(), dtoPath);
+        FilterChain unreachable = (request, response) -> fail("Cache hit expected");
+
+        // One request and response are reused so that creating the mocks is not measured, and the
+        // body goes to a plain buffer because MockHttpServletResponse copies it byte by byte
+        MockHttpServletRequest request = request();
+        BufferedResponse response = new BufferedResponse();
+        long dtoNanos = cpuNanosPerRequest(() -> {
+            response.reset();
+            dtoPath.doFilter(request, response);
+        });
+        long hitNanos = cpuNanosPerRequest(() -> {
+            response.reset();
+            filter.doFilter(request, response, unreachable);
+        });
+
+        System.out.printf("DTO path: %d ns CPU/request, cache hit: %d ns CPU/request (%.1fx)%n",
+                dtoNanos, hitNanos, (double) dtoNanos / hitNanos);
+        assertTrue(hitNanos < dtoNanos);
+    }
+
+    private long cpuNanosPerRequest(Request request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        return (threadMXBean.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    private void render(ServletResponse response) throws IOException {
+        OrganizationDto organization = OrganizationDto.builder()
+                .organizationId("0190b3e5-7c2a-7d3e-9f41-2b8c5d6e7f80")
+                .name("Acme Corporation")
+                .plan("FREE")
+                .status("ACTIVE")
+                .createdAt("2026-01-12T09:30:00")
+                .updatedAt("2026-01-12T09:30:00")
+                .build();
+        UserAccountDto user = UserAccountDto.builder()
+                .id(42L)
+                .workosUserId(USER)
+                .organization(organization)
+                .email("jane.doe@acme.example")
+                .firstName("Jane")
+                .lastName("Doe")
+                .emailVerified(true)
+                .onboardingCompleted(true)
+                .role("ADMIN")
+                .profilePictureUrl("https://cdn.acme.example/avatars/jane.png")
+                .lastSignInAt("2026-02-03T08:15:00")
+                .createdAt("2026-01-12T09:30:00")
+                .updatedAt("2026-02-03T08:15:00")
+                .build();
+        BaseResponse<UserAccountDto> body = new BaseResponse<>();
+        body.setStatus(SUCCESS);
+        body.setResponse(user);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("x-workos-user-id", USER);
+        return request;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run() throws Exception;
+    }
+
+    private static final class BufferedResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                body.write(bytes, offset, length);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        BufferedResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            body.reset();
+        }
+    }
+}
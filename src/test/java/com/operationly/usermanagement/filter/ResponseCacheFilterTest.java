@@ -0,0 +1,144 @@
+package com.operationly.usermanagement.filter;
+
+import com.operationly.usermanagement.config.ResponseCacheProperties;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseCacheFilterTest {
+
+    private static final String USER = "workos_123";
+    private static final String BODY = "{\"status\":\"SUCCESS\",\"response\":{\"workosUserId\":\"workos_123\"}}";
+
+    @Mock
+    private FilterChain filterChain;
+
+    private ResponseCache responseCache;
+    private ResponseCacheFilter responseCacheFilter;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        responseCache = new ResponseCache(properties, new SimpleMeterRegistry());
+        responseCacheFilter = new ResponseCacheFilter(responseCache);
+    }
+
+    @Test
+    void doFilter_RepeatedRequest_ShouldServeStoredBytesWithoutChain() throws ServletException, IOException {
+        // Arrange
+        renderBody(BODY);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // Act
+        responseCacheFilter.doFilter(userMeRequest(), first, filterChain);
+        responseCacheFilter.doFilter(userMeRequest(), second, filterChain);
+
+        // Assert
+        verify(filterChain, times(1)).doFilter(any(), any());
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals("application/json", second.getContentType());
+        assertNotNull(first.getHeader(HttpHeaders.ETAG));
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void doFilter_AfterInvalidation_ShouldRenderAgain() throws ServletException, IOException {
+        // Arrange
+        renderBody(BODY);
+        responseCacheFilter.doFilter(userMeRequest(), new MockHttpServletResponse(), filterChain);
+        responseCache.invalidateAfterCommit(ResponseCache.userKey(USER));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        responseCacheFilter.doFilter(userMeRequest(), response, filterChain);
+
+        // Assert
+        verify(filterChain, times(2)).doFilter(any(), any());
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_MatchingIfNoneMatch_ShouldAnswerNotModified() throws ServletException, IOException {
+        // Arrange
+        renderBody(BODY);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        responseCacheFilter.doFilter(userMeRequest(), first, filterChain);
+        MockHttpServletRequest conditional = userMeRequest();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        responseCacheFilter.doFilter(conditional, response, filterChain);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void doFilter_ErrorResponse_ShouldNotBeStored() throws ServletException, IOException {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<HttpServletResponse>getArgument(1).setStatus(400);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // Act
+        responseCacheFilter.doFilter(userMeRequest(), new MockHttpServletResponse(), filterChain);
+        responseCacheFilter.doFilter(userMeRequest(), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(filterChain, times(2)).doFilter(any(), any());
+        assertNull(responseCache.get(ResponseCache.userKey(USER)));
+    }
+
+    @Test
+    void doFilter_OtherPath_ShouldPassThrough() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/organizations");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        responseCacheFilter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+    }
+
+    private void renderBody(String body) throws ServletException, IOException {
+        doAnswer(invocation -> {
+            ServletResponse response = invocation.getArgument(1);
+            response.setContentType("application/json");
+            response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+    }
+
+    private static MockHttpServletRequest userMeRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("x-workos-user-id", USER);
+        return request;
+    }
+}
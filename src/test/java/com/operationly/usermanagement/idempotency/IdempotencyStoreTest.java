@@ -0,0 +1,69 @@
+package com.operationly.usermanagement.idempotency;
+
+import com.operationly.usermanagement.config.IdempotencyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String OWNER = "workos_123";
+    private static final String KEY = "retry-key-1";
+    private static final byte[] HASH = {1, 2, 3};
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(jdbcTemplate, new IdempotencyProperties());
+    }
+
+    @Test
+    void complete_WhenClaimTakenOver_ShouldNotCacheResponse() {
+        // Arrange
+        when(jdbcTemplate.update(contains("INSERT INTO idempotency_record"), any(Object[].class))).thenReturn(1);
+        UUID claimToken = store.tryClaim(OWNER, KEY, HASH);
+        when(jdbcTemplate.update(contains("status = 'COMPLETED'"), any(Object[].class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(OWNER), eq(KEY)))
+                .thenReturn(List.of());
+
+        // Act
+        store.complete(OWNER, KEY, claimToken, HASH, 201, "application/json", new byte[0]);
+
+        // Assert
+        assertNotNull(claimToken);
+        assertNull(store.find(OWNER, KEY));
+    }
+
+    @Test
+    void renewClaims_ShouldRenewOnlyClaimsStillRunning() {
+        // Arrange
+        when(jdbcTemplate.update(contains("INSERT INTO idempotency_record"), any(Object[].class))).thenReturn(1);
+        UUID finished = store.tryClaim(OWNER, KEY, HASH);
+        store.release(OWNER, KEY, finished);
+
+        // Act & Assert
+        store.renewClaims();
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+
+        store.tryClaim(OWNER, "retry-key-2", HASH);
+        store.renewClaims();
+        verify(jdbcTemplate).update(contains("claim_token = ANY(?)"), any(PreparedStatementSetter.class));
+    }
+}
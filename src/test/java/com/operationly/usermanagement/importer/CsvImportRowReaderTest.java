@@ -0,0 +1,93 @@
+package com.operationly.usermanagement.importer;
+
+import com.operationly.usermanagement.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvImportRowReaderTest {
+
+    @Test
+    void next_ShouldReadQuotedFieldsAndEmptyValuesAsNull() throws IOException {
+        CsvImportRowReader reader = reader("""
+                email,workos_user_id,first_name,last_name,role
+                "doe, jane@example.com",user_1,"Jane ""J\"\"",,ADMIN
+                """);
+
+        ImportRow row = reader.next();
+
+        assertEquals(2, row.lineNumber());
+        assertEquals("user_1", row.workosUserId());
+        assertEquals("doe, jane@example.com", row.email());
+        assertEquals("Jane \"J\"", row.firstName());
+        assertNull(row.lastName());
+        assertNull(row.emailVerified());
+        assertEquals("ADMIN", row.role());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_ShouldRejectRowWithWrongColumnCountAndContinue() throws IOException {
+        CsvImportRowReader reader = reader("""
+                workos_user_id,email
+                user_1
+                user_2,two@example.com
+                """);
+
+        ImportRowException exception = assertThrows(ImportRowException.class, reader::next);
+        assertEquals(2, exception.getLineNumber());
+
+        ImportRow row = reader.next();
+        assertEquals(3, row.lineNumber());
+        assertEquals("user_2", row.workosUserId());
+    }
+
+    @Test
+    void next_ShouldNumberRowsByPhysicalLineAfterMultiLineFields() throws IOException {
+        CsvImportRowReader reader = reader("""
+                workos_user_id,email,first_name
+                user_1,one@example.com,"Jane
+                Marie"
+
+                user_2,two@example.com,John
+                user_3,"three@example.com
+                """);
+
+        assertEquals("Jane\nMarie", reader.next().firstName());
+        assertEquals(5, reader.next().lineNumber());
+        ImportRowException exception = assertThrows(ImportRowException.class, reader::next);
+        assertEquals(6, exception.getLineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void constructor_ShouldSkipByteOrderMark() throws IOException {
+        CsvImportRowReader reader = reader("\uFEFFworkos_user_id,email\nuser_1,one@example.com\n");
+
+        ImportRow row = reader.next();
+
+        assertEquals("user_1", row.workosUserId());
+        assertEquals("one@example.com", row.email());
+    }
+
+    @Test
+    void constructor_ShouldRejectHeaderWithUnterminatedQuote() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> reader("workos_user_id,\"email\nuser_1,one@example.com\n"));
+
+        assertEquals("Invalid CSV header", exception.getErrorCode());
+    }
+
+    @Test
+    void constructor_ShouldRejectHeaderWithoutRequiredColumns() {
+        assertThrows(BusinessException.class, () -> reader("email,first_name\n"));
+    }
+
+    private static CsvImportRowReader reader(String csv) throws IOException {
+        return new CsvImportRowReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.operationly.usermanagement.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonImportRowReaderTest {
+
+    @Test
+    void next_ShouldReadFieldsAndNumberRowsByLine() throws IOException {
+        NdjsonImportRowReader reader = reader("""
+                {"workosUserId":"user_1","email":"one@example.com","firstName":"Jane","emailVerified":true,"role":"ADMIN"}
+
+                {"workosUserId":"user_2","email":"two@example.com","lastName":null}
+                """);
+
+        ImportRow first = reader.next();
+        assertEquals(1, first.lineNumber());
+        assertEquals("user_1", first.workosUserId());
+        assertEquals("one@example.com", first.email());
+        assertEquals("Jane", first.firstName());
+        assertNull(first.lastName());
+        assertEquals("true", first.emailVerified());
+        assertEquals("ADMIN", first.role());
+
+        ImportRow second = reader.next();
+        assertEquals(3, second.lineNumber());
+        assertNull(second.lastName());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_ShouldRejectMalformedLinesAndContinue() throws IOException {
+        NdjsonImportRowReader reader = reader("""
+                {"workosUserId":"user_1",
+                ["user_2"]
+                {"workosUserId":"user_3","email":"three@example.com"}
+                """);
+
+        ImportRowException malformed = assertThrows(ImportRowException.class, reader::next);
+        assertEquals(1, malformed.getLineNumber());
+        ImportRowException notObject = assertThrows(ImportRowException.class, reader::next);
+        assertEquals(2, notObject.getLineNumber());
+
+        ImportRow row = reader.next();
+        assertEquals(3, row.lineNumber());
+        assertEquals("user_3", row.workosUserId());
+    }
+
+    @Test
+    void constructor_ShouldSkipByteOrderMark() throws IOException {
+        NdjsonImportRowReader reader = reader("\uFEFF{\"workosUserId\":\"user_1\",\"email\":\"one@example.com\"}\n");
+
+        assertEquals("user_1", reader.next().workosUserId());
+    }
+
+    private static NdjsonImportRowReader reader(String ndjson) throws IOException {
+        return new NdjsonImportRowReader(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                new ObjectMapper());
+    }
+}
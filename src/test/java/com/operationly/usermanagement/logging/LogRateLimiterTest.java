@@ -0,0 +1,26 @@
+package com.operationly.usermanagement.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldPassOncePerIntervalAndReportSuppressedCount() {
+        AtomicLong now = new AtomicLong(1_000);
+        LogRateLimiter limiter = new LogRateLimiter(Duration.ofNanos(100), now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(-1, limiter.tryAcquire("a"));
+        assertEquals(-1, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        now.addAndGet(100);
+        assertEquals(2, limiter.tryAcquire("a"));
+        assertEquals(-1, limiter.tryAcquire("a"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.operationly.usermanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        filter = new SamplingTurboFilter();
+        filter.setLoggers("com.example.hot, com.example.other");
+        filter.setRate(10);
+        filter.setMaxLevel("INFO");
+    }
+
+    @Test
+    void decide_ShouldLetOneInRateThroughForSampledLoggers() {
+        // Arrange
+        Logger logger = context.getLogger("com.example.hot.RequestFilter");
+
+        // Act
+        int passed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (filter.decide(null, logger, Level.INFO, "request {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+
+        // Assert
+        assertEquals(10, passed);
+        assertEquals(90, filter.getSampledOut());
+    }
+
+    @Test
+    void decide_ShouldNotSampleWarningsOtherLoggersOrDisabledLevels() {
+        // Arrange
+        Logger hot = context.getLogger("com.example.hot.RequestFilter");
+        Logger cold = context.getLogger("com.example.cold.Service");
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, hot, Level.WARN, "warn", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, cold, Level.INFO, "info", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, hot, Level.DEBUG, "debug", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, hot, Level.INFO, null, null, null));
+        }
+
+        // Assert
+        assertEquals(0, filter.getSampledOut());
+    }
+}
@@ -0,0 +1,47 @@
+package com.operationly.usermanagement.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    void mightContain_ShouldNeverMissAnAddedKey() {
+        BloomFilter filter = new BloomFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("user_" + i);
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            assertTrue(filter.mightContain("user_" + i));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearTarget() {
+        BloomFilter filter = new BloomFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("user_" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < USERS; i++) {
+            if (filter.mightContain("unknown_" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < USERS * 0.015, "false positives: " + falsePositives);
+        // About 9.6 bits per key at 1%
+        assertTrue(filter.footprintBytes() < USERS * 1.3, "bytes: " + filter.footprintBytes());
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(USERS, 1.0));
+    }
+}
@@ -0,0 +1,76 @@
+package com.operationly.usermanagement.lookup;
+
+import com.operationly.usermanagement.config.KnownUserFilterProperties;
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the known user filter against PostgreSQL with a slow transaction, such as an import, that
+ * commits its users after other instances inserted many more.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class KnownUserGuardTest {
+
+    private static final String INSERT_SQL = "INSERT INTO user_account (workos_user_id, email) VALUES (?, ?)";
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private KnownUserGuard guard;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        dataSource = LocalPostgres.createMigratedSchema("known_users", 4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(INSERT_SQL, "user_existing", "existing@example.com");
+
+        guard = new KnownUserGuard(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new KnownUserFilterProperties(), new SimpleMeterRegistry());
+        guard.refresh();
+    }
+
+    @AfterAll
+    void tearDown() {
+        LocalPostgres.dropSchema(dataSource);
+    }
+
+    @Test
+    void refresh_WhenImportCommitsBelowWatermark_ShouldStillLearnImportedUsers() throws Exception {
+        assertFalse(guard.isKnownMissing("user_existing"));
+
+        try (Connection importConnection = dataSource.getConnection()) {
+            importConnection.setAutoCommit(false);
+            try (PreparedStatement insert = importConnection.prepareStatement(INSERT_SQL)) {
+                insert.setString(1, "user_imported");
+                insert.setString(2, "imported@example.com");
+                insert.executeUpdate();
+            }
+
+            // Signups on other instances move the watermark far past the import's id meanwhile
+            jdbcTemplate.update("INSERT INTO user_account (workos_user_id, email) "
+                    + "SELECT 'user_signup_' || g, 'signup' || g || '@example.com' FROM generate_series(1, 5000) g");
+            guard.refresh();
+            assertFalse(guard.isKnownMissing("user_signup_5000"));
+            assertTrue(guard.isKnownMissing("user_imported"));
+
+            importConnection.commit();
+        }
+        guard.refresh();
+
+        assertFalse(guard.isKnownMissing("user_imported"));
+        assertTrue(guard.isKnownMissing("user_never_created"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.operationly.usermanagement.membership;
+
+import com.operationly.usermanagement.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the mean lookup time of a one-million-membership {@link MembershipIndex} spread over
+ * 10,000 organizations. Prints the result; run with {@code RUN_BENCHMARKS=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class MembershipIndexBenchmarkTest {
+
+    private static final int MEMBERSHIPS = 1_000_000;
+    private static final int ORGANIZATIONS = 10_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void lookup_ShouldStayWellBelowAMicrosecond() {
+        UUID[] organizations = IntStream.range(0, ORGANIZATIONS).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+        MembershipIndex index = new MembershipIndex();
+        for (int i = 0; i < MEMBERSHIPS; i++) {
+            index.put(i + 1L, organizations[i % ORGANIZATIONS], Role.MEMBER);
+        }
+
+        long nanosPerLookup = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < MEMBERSHIPS; i++) {
+                if (index.role(i + 1L, organizations[i % ORGANIZATIONS]) != null) {
+                    found++;
+                }
+            }
+            nanosPerLookup = (System.nanoTime() - start) / MEMBERSHIPS;
+            assertEquals(MEMBERSHIPS, found);
+        }
+
+        System.out.printf("MembershipIndex: %d ns per lookup over %d memberships, %d KiB%n",
+                nanosPerLookup, MEMBERSHIPS, index.footprintBytes() / 1024);
+        assertTrue(nanosPerLookup < 1_000, "lookup took " + nanosPerLookup + " ns");
+    }
+}
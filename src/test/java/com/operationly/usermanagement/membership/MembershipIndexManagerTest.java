@@ -0,0 +1,97 @@
+package com.operationly.usermanagement.membership;
+
+import com.operationly.usermanagement.config.MembershipIndexProperties;
+import com.operationly.usermanagement.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipIndexManagerTest {
+
+    private static final UUID ORG_ID = UUID.randomUUID();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MembershipIndexManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new MembershipIndexManager(jdbcTemplate, transactionManager, new MembershipIndexProperties(),
+                new SimpleMeterRegistry());
+        // Loads an empty index, since the mocked queries return no rows
+        manager.listenerConnected();
+    }
+
+    @Test
+    void recordLookup_WhenMembershipChangedSinceRead_ShouldNotRecord() {
+        long changeCount = manager.changeCount();
+        manager.applyChanges(ORG_ID, List.of(1L), Map.of());
+
+        manager.recordLookup(1L, ORG_ID, Role.ADMIN, changeCount);
+        assertNull(manager.findRole(1L, ORG_ID));
+
+        manager.recordLookup(1L, ORG_ID, Role.ADMIN, manager.changeCount());
+        assertEquals(Role.ADMIN, manager.findRole(1L, ORG_ID));
+    }
+
+    @Test
+    void applyChanges_ShouldPutCurrentRolesAndRemoveTheRest() {
+        manager.applyChanges(ORG_ID, List.of(1L, 2L), Map.of(1L, Role.ADMIN, 2L, Role.MEMBER));
+
+        manager.applyChanges(ORG_ID, List.of(1L, 2L), Map.of(1L, Role.MEMBER));
+
+        assertEquals(Role.MEMBER, manager.findRole(1L, ORG_ID));
+        assertNull(manager.findRole(2L, ORG_ID));
+    }
+
+    @Test
+    void findRole_WhenListenerDisconnected_ShouldMissUntilReconnected() {
+        manager.applyChanges(ORG_ID, List.of(1L), Map.of(1L, Role.ADMIN));
+
+        manager.listenerDisconnected();
+        assertNull(manager.findRole(1L, ORG_ID));
+        manager.reload();
+        assertNull(manager.findRole(1L, ORG_ID));
+
+        manager.listenerConnected();
+        manager.applyChanges(ORG_ID, List.of(1L), Map.of(1L, Role.ADMIN));
+        assertEquals(Role.ADMIN, manager.findRole(1L, ORG_ID));
+    }
+
+    @Test
+    void evictMembershipsAfterCommit_ShouldKeepEntryWhenTransactionRollsBack() {
+        manager.applyChanges(ORG_ID, List.of(1L), Map.of(1L, Role.ADMIN));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            manager.evictMembershipsAfterCommit(ORG_ID, List.of(1L));
+            assertEquals(Role.ADMIN, manager.findRole(1L, ORG_ID));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(Role.ADMIN, manager.findRole(1L, ORG_ID));
+
+        manager.evictMembershipsAfterCommit(ORG_ID, List.of(1L));
+        assertNull(manager.findRole(1L, ORG_ID));
+    }
+}
@@ -0,0 +1,91 @@
+package com.operationly.usermanagement.membership;
+
+import com.operationly.usermanagement.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembershipIndexTest {
+
+    private static final UUID ORG_A = UUID.randomUUID();
+    private static final UUID ORG_B = UUID.randomUUID();
+
+    @Test
+    void role_ShouldReturnRolePerOrganization() {
+        MembershipIndex index = new MembershipIndex();
+        index.put(1L, ORG_A, Role.ADMIN);
+        index.put(1L, ORG_B, Role.MEMBER);
+
+        assertEquals(Role.ADMIN, index.role(1L, ORG_A));
+        assertEquals(Role.MEMBER, index.role(1L, ORG_B));
+        assertNull(index.role(2L, ORG_A));
+        assertNull(index.role(1L, UUID.randomUUID()));
+    }
+
+    @Test
+    void put_ExistingMembership_ShouldChangeRoleWithoutGrowing() {
+        MembershipIndex index = new MembershipIndex();
+        index.put(1L, ORG_A, Role.MEMBER);
+        index.put(1L, ORG_A, Role.ADMIN);
+
+        assertEquals(Role.ADMIN, index.role(1L, ORG_A));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void operations_ShouldMatchReferenceMapAcrossResizesAndRemovals() {
+        MembershipIndex index = new MembershipIndex();
+        Map<String, Role> reference = new HashMap<>();
+        List<UUID> organizations = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long userId = 1 + random.nextInt(5_000);
+            UUID organizationId = organizations.get(random.nextInt(organizations.size()));
+            if (random.nextInt(4) == 0) {
+                index.remove(userId, organizationId);
+                reference.remove(userId + "/" + organizationId);
+            } else {
+                Role role = random.nextBoolean() ? Role.ADMIN : Role.MEMBER;
+                index.put(userId, organizationId, role);
+                reference.put(userId + "/" + organizationId, role);
+            }
+        }
+
+        assertEquals(reference.size(), index.size());
+        for (long userId = 1; userId <= 5_000; userId++) {
+            for (UUID organizationId : organizations) {
+                assertEquals(reference.get(userId + "/" + organizationId), index.role(userId, organizationId));
+            }
+        }
+    }
+
+    /**
+     * One million memberships spread over 10,000 organizations stay within the documented footprint
+     * and are all found again.
+     */
+    @Test
+    void millionMemberships_ShouldFitTheDocumentedFootprint() {
+        int memberships = 1_000_000;
+        int organizationCount = 10_000;
+        UUID[] organizations = IntStream.range(0, organizationCount).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+        MembershipIndex index = new MembershipIndex();
+        for (int i = 0; i < memberships; i++) {
+            index.put(i + 1L, organizations[i % organizationCount], Role.MEMBER);
+        }
+
+        assertEquals(memberships, index.size());
+        assertTrue(index.footprintBytes() < 28 * 1024 * 1024, "footprint " + index.footprintBytes());
+        for (int i = 0; i < memberships; i++) {
+            assertEquals(Role.MEMBER, index.role(i + 1L, organizations[i % organizationCount]));
+        }
+        assertNull(index.role(memberships + 1L, organizations[0]));
+    }
+}
@@ -0,0 +1,75 @@
+package com.operationly.usermanagement.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenOneRequestPerInterval() {
+        // 60 per minute: one per second, 3 at once
+        GcraRateLimiter limiter = new GcraRateLimiter(60, Duration.ofMinutes(1), 3, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("user_1"));
+        assertEquals(0, limiter.tryAcquire("user_1"));
+        assertEquals(0, limiter.tryAcquire("user_1"));
+        assertEquals(SECOND, limiter.tryAcquire("user_1"));
+
+        clock.addAndGet(SECOND / 2);
+        assertEquals(SECOND / 2, limiter.tryAcquire("user_1"));
+
+        clock.addAndGet(SECOND / 2);
+        assertEquals(0, limiter.tryAcquire("user_1"));
+        assertEquals(SECOND, limiter.tryAcquire("user_1"));
+    }
+
+    @Test
+    void tryAcquire_ShouldLimitEachKeySeparately() {
+        GcraRateLimiter limiter = new GcraRateLimiter(1, Duration.ofMinutes(1), 1, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("user_1"));
+        assertTrue(limiter.tryAcquire("user_1") > 0);
+        assertEquals(0, limiter.tryAcquire("user_2"));
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepStateBoundedForManyKeys() {
+        GcraRateLimiter limiter = new GcraRateLimiter(10, Duration.ofMinutes(1), 5, 1_000);
+
+        for (int i = 0; i < 100_000; i++) {
+            limiter.tryAcquire("user_" + i);
+        }
+
+        assertTrue(limiter.trackedKeys() <= 1_000, "tracked " + limiter.trackedKeys());
+    }
+
+    @Test
+    void tryAcquire_ShouldNotGrantMoreThanTheBurstUnderContention() throws InterruptedException {
+        GcraRateLimiter limiter = new GcraRateLimiter(1, Duration.ofHours(1), 50, 100, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire("user_1") == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, granted.get());
+    }
+}
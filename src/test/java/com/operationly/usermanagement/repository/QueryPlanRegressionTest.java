@@ -0,0 +1,335 @@
+package com.operationly.usermanagement.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.operationly.usermanagement.entity.Organization;
+import com.operationly.usermanagement.entity.UserAccount;
+import com.operationly.usermanagement.repository.reactive.ReactiveUserContextRepository;
+import com.operationly.usermanagement.service.impl.MemberExportServiceImpl;
+import com.operationly.usermanagement.service.impl.MembershipServiceImpl;
+import com.operationly.usermanagement.service.impl.OrganizationServiceImpl;
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each hot lookup through the real repositories and services' SQL against a seeded
+ * PostgreSQL, captures the statements Hibernate and JdbcTemplate send with their bound values, and
+ * runs EXPLAIN ANALYZE on each. Fails when a plan contains a sequential scan estimated above
+ * {@link #SEQ_SCAN_ROW_THRESHOLD} rows, or when a lookup expected to touch one user_organization
+ * partition executes more, whether pruned at plan or at run time. Full listings such as
+ * {@code findAllProjectedBy} are intentionally not covered.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class QueryPlanRegressionTest {
+
+    private static final int SEQ_SCAN_ROW_THRESHOLD = 500;
+    private static final int USERS = 50_000;
+    private static final int ORGANIZATIONS = 5_000;
+    private static final String PARTITION_PREFIX = "user_organization_p";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<CapturedStatement> captured = new CopyOnWriteArrayList<>();
+    private HikariDataSource dataSource;
+    private JdbcTemplate capturingJdbcTemplate;
+    private TransactionTemplate rolledBackTransaction;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private UserAccountRepository userAccountRepository;
+    private UserOrganizationRepository userOrganizationRepository;
+    private OrganizationRepository organizationRepository;
+    private UUID organizationId;
+    private long memberId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        dataSource = LocalPostgres.createMigratedSchema("plan_regression", 4);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO organization (organization_id, name, plan, status) "
+                + "SELECT gen_random_uuid(), 'org-' || g, 'FREE', 'ACTIVE' FROM generate_series(1, ?) g", ORGANIZATIONS);
+        jdbcTemplate.update("INSERT INTO user_account (workos_user_id, email, first_name, last_name) "
+                + "SELECT 'user_' || g, 'user' || g || '@example.com', 'First', 'Last' "
+                + "FROM generate_series(1, ?) g", USERS);
+        jdbcTemplate.update("INSERT INTO user_organization (user_id, organization_id, role) "
+                + "SELECT u.id, o.organization_id, 'MEMBER' FROM user_account u "
+                + "JOIN (SELECT organization_id, row_number() OVER (ORDER BY organization_id) - 1 AS rn FROM organization) o "
+                + "ON o.rn = u.id % ?", ORGANIZATIONS);
+        jdbcTemplate.execute("ANALYZE organization, user_account, user_organization, user_primary_organization");
+
+        organizationId = jdbcTemplate.queryForObject(
+                "SELECT organization_id FROM organization ORDER BY organization_id LIMIT 1", UUID.class);
+        memberId = jdbcTemplate.queryForObject(
+                "SELECT min(user_id) FROM user_organization WHERE organization_id = ?", Long.class, organizationId);
+
+        DataSource capturing = capturing(dataSource);
+        capturingJdbcTemplate = new JdbcTemplate(capturing);
+        rolledBackTransaction = new TransactionTemplate(new DataSourceTransactionManager(capturing));
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(capturing);
+        factory.setPackagesToScan(UserAccount.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // Same naming as Spring Boot; no second-level cache, so every lookup reaches the database
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName(),
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        userAccountRepository = repositories.getRepository(UserAccountRepository.class);
+        userOrganizationRepository = repositories.getRepository(UserOrganizationRepository.class);
+        organizationRepository = repositories.getRepository(OrganizationRepository.class);
+    }
+
+    @AfterAll
+    void dropSchema() {
+        if (entityManagerFactory != null) {
+            entityManager.close();
+            entityManagerFactory.close();
+        }
+        LocalPostgres.dropSchema(dataSource);
+    }
+
+    /**
+     * Hot lookups, whether each must touch a single partition, and the call that issues them.
+     */
+    Stream<Arguments> hotLookups() {
+        return Stream.of(
+                lookup("UserAccountRepository.findByWorkosUserId", false,
+                        () -> userAccountRepository.findByWorkosUserId(workosUserId())),
+                lookup("UserAccountRepository.findById", false,
+                        () -> userAccountRepository.findById(memberId)),
+                lookup("UserAccountRepository.findByEmail", false,
+                        () -> userAccountRepository.findByEmail("user" + memberId + "@example.com")),
+                lookup("UserAccountRepository.findAccountViewByWorkosUserId", true,
+                        () -> userAccountRepository.findAccountViewByWorkosUserId(workosUserId())),
+                lookup("UserAccountRepository.findAccountViewById", true,
+                        () -> userAccountRepository.findAccountViewById(memberId)),
+                lookup("UserAccountRepository.findContextViewByWorkosUserId", true,
+                        () -> userAccountRepository.findContextViewByWorkosUserId(workosUserId())),
+                lookup("UserAccountRepository.findAccountViewsByOrganizationId", true,
+                        () -> userAccountRepository.findAccountViewsByOrganizationId(organizationId)),
+                lookup("OrganizationRepository.findByOrganizationId", false,
+                        () -> organizationRepository.findByOrganizationId(organizationId)),
+                lookup("UserOrganizationRepository.findPrimaryOrganizationId", false,
+                        () -> userOrganizationRepository.findPrimaryOrganizationId(memberId)),
+                lookup("UserOrganizationRepository.findByUserAndOrganizationOrganizationId", true,
+                        () -> userOrganizationRepository.findByUserAndOrganizationOrganizationId(
+                                entityManager.getReference(UserAccount.class, memberId), organizationId)),
+                lookup("UserOrganizationRepository.findRoleByUserIdAndOrganizationId", true,
+                        () -> userOrganizationRepository.findRoleByUserIdAndOrganizationId(memberId, organizationId)),
+                lookup("UserOrganizationRepository.findByOrganization", true,
+                        () -> userOrganizationRepository.findByOrganization(
+                                entityManager.getReference(Organization.class, organizationId))),
+                // Lists every membership of a user, so it probes each partition's index by design
+                lookup("UserOrganizationRepository.findByUser", false,
+                        () -> userOrganizationRepository.findByUser(
+                                entityManager.getReference(UserAccount.class, memberId))),
+                lookup("MembershipServiceImpl.removeMembers", true,
+                        () -> capturingJdbcTemplate.queryForList(sql(MembershipServiceImpl.class, "REMOVE_SQL"),
+                                organizationId, new Long[]{memberId, memberId + ORGANIZATIONS})),
+                lookup("MembershipServiceImpl.adminless", true,
+                        () -> capturingJdbcTemplate.queryForObject(sql(MembershipServiceImpl.class, "ADMINLESS_SQL"),
+                                Boolean.class, organizationId, organizationId)),
+                lookup("OrganizationServiceImpl.onboard", true,
+                        () -> capturingJdbcTemplate.queryForObject(sql(OrganizationServiceImpl.class, "ONBOARD_SQL"),
+                                Integer.class, memberId, UUID.randomUUID(), "Plan check", "FREE", "ACTIVE", "ADMIN")),
+                lookup("ReactiveUserContextRepository.findContextByWorkosUserId", true,
+                        () -> new NamedParameterJdbcTemplate(capturingJdbcTemplate).queryForList(
+                                sql(ReactiveUserContextRepository.class, "CONTEXT_SQL"),
+                                Map.of("workosUserId", workosUserId()))),
+                lookup("MemberExportServiceImpl.export", true,
+                        () -> capturingJdbcTemplate.queryForList(sql(MemberExportServiceImpl.class, "EXPORT_SQL"),
+                                organizationId))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotLookups")
+    void hotLookup_ShouldUseIndexesAndPrunePartitions(String name, boolean onePartition, Runnable lookup) throws Exception {
+        List<CapturedStatement> statements = capture(lookup);
+        assertFalse(statements.isEmpty(), name + " sent no statement");
+
+        for (CapturedStatement statement : statements) {
+            String planJson = explainAnalyze(statement);
+            JsonNode plan = objectMapper.readTree(planJson).get(0).get("Plan");
+
+            List<String> offendingScans = new ArrayList<>();
+            collectLargeSeqScans(plan, offendingScans);
+            assertTrue(offendingScans.isEmpty(), name + " plans sequential scans on " + offendingScans + ":\n"
+                    + statement.sql() + "\n" + planJson);
+
+            if (onePartition) {
+                Set<String> partitions = new TreeSet<>();
+                collectExecutedPartitions(plan, partitions);
+                assertTrue(partitions.size() <= 1, name + " executes partitions " + partitions + ":\n"
+                        + statement.sql() + "\n" + planJson);
+            }
+        }
+    }
+
+    private static Arguments lookup(String name, boolean onePartition, Runnable call) {
+        return Arguments.of(name, onePartition, call);
+    }
+
+    private String workosUserId() {
+        return "user_" + memberId;
+    }
+
+    private static String sql(Class<?> owner, String constant) {
+        return (String) ReflectionTestUtils.getField(owner, constant);
+    }
+
+    /**
+     * Runs the lookup in a transaction that is rolled back, so writes leave the seed intact.
+     */
+    private List<CapturedStatement> capture(Runnable lookup) {
+        captured.clear();
+        entityManager.clear();
+        rolledBackTransaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            lookup.run();
+        });
+        return List.copyOf(captured);
+    }
+
+    /**
+     * Re-binds the captured values to EXPLAIN ANALYZE of the statement, in a transaction that is
+     * rolled back. Binding real values lets the planner prune partitions as it does for the lookup.
+     */
+    private String explainAnalyze(CapturedStatement statement) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, FORMAT JSON) " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    binding.setter().invoke(explain, binding.args());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private void collectLargeSeqScans(JsonNode node, List<String> offendingScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && node.path("Plan Rows").asLong() > SEQ_SCAN_ROW_THRESHOLD) {
+            offendingScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectLargeSeqScans(child, offendingScans);
+        }
+    }
+
+    /**
+     * Collects the partitions a plan actually ran; run-time pruning leaves the others at zero loops.
+     */
+    private void collectExecutedPartitions(JsonNode node, Set<String> partitions) {
+        String relation = node.path("Relation Name").asText();
+        if (relation.startsWith(PARTITION_PREFIX) && node.path("Actual Loops").asLong() > 0) {
+            partitions.add(relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectExecutedPartitions(child, partitions);
+        }
+    }
+
+    /**
+     * Wraps a data source so every executed prepared statement is recorded with its bound values.
+     */
+    private DataSource capturing(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            return result instanceof Connection connection ? capturing(connection) : result;
+        });
+    }
+
+    private Connection capturing(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            return "prepareStatement".equals(method.getName())
+                    ? capturing((PreparedStatement) result, (String) args[0]) : result;
+        });
+    }
+
+    private PreparedStatement capturing(PreparedStatement target, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String methodName = method.getName();
+            if (methodName.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if ("clearParameters".equals(methodName)) {
+                bindings.clear();
+            } else if (methodName.startsWith("execute") && (args == null || args.length == 0)) {
+                captured.add(new CapturedStatement(sql, List.copyOf(bindings)));
+            }
+            return invoke(method, target, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryPlanRegressionTest.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record CapturedStatement(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+}
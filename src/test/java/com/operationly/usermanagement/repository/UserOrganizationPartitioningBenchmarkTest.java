@@ -0,0 +1,129 @@
+package com.operationly.usermanagement.repository;
+
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the hash-partitioned user_organization created by changelog 011 with an unpartitioned
+ * copy of the same rows and indexes ({@code user_organization_heap}): mean latency of the
+ * organization- and user-scoped lookups the service runs, and the time VACUUM needs after a tenth
+ * of the memberships changed role. Prints the results; run with {@code RUN_BENCHMARKS=true} and
+ * {@code BENCHMARK_MEMBERSHIPS} to change the default of 2,000,000 rows.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class UserOrganizationPartitioningBenchmarkTest {
+
+    private static final String PARTITIONED = "user_organization";
+    private static final String HEAP = "user_organization_heap";
+    private static final int MEMBERS_PER_ORGANIZATION = 20;
+    private static final int LOOKUPS = 2_000;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private int memberships;
+    private List<UUID> organizationIds;
+
+    @BeforeAll
+    void seed() throws Exception {
+        String configured = System.getenv("BENCHMARK_MEMBERSHIPS");
+        memberships = configured == null || configured.isEmpty() ? 2_000_000 : Integer.parseInt(configured);
+        int organizations = memberships / MEMBERS_PER_ORGANIZATION;
+
+        dataSource = LocalPostgres.createMigratedSchema("partition_benchmark", 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO organization (organization_id, name, plan, status) "
+                + "SELECT gen_random_uuid(), 'org-' || g, 'FREE', 'ACTIVE' FROM generate_series(1, ?) g", organizations);
+        jdbcTemplate.update("INSERT INTO user_account (workos_user_id, email) "
+                + "SELECT 'user_' || g, 'user' || g || '@example.com' FROM generate_series(1, ?) g", memberships);
+        jdbcTemplate.update("INSERT INTO user_organization (user_id, organization_id, role) "
+                + "SELECT u.id, o.organization_id, 'MEMBER' FROM user_account u "
+                + "JOIN (SELECT organization_id, row_number() OVER (ORDER BY organization_id) - 1 AS rn FROM organization) o "
+                + "ON o.rn = u.id % ?", organizations);
+
+        jdbcTemplate.execute("CREATE TABLE " + HEAP + " (LIKE user_organization INCLUDING DEFAULTS)");
+        jdbcTemplate.execute("INSERT INTO " + HEAP + " SELECT * FROM user_organization");
+        jdbcTemplate.execute("ALTER TABLE " + HEAP + " ADD PRIMARY KEY (id)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX ON " + HEAP + " (user_id, organization_id)");
+        jdbcTemplate.execute("CREATE INDEX ON " + HEAP + " (organization_id, user_id)");
+        jdbcTemplate.execute("VACUUM ANALYZE organization, user_account, user_organization, " + HEAP);
+
+        organizationIds = jdbcTemplate.queryForList(
+                "SELECT organization_id FROM organization ORDER BY random() LIMIT ?", UUID.class, LOOKUPS);
+    }
+
+    @AfterAll
+    void dropSchema() {
+        LocalPostgres.dropSchema(dataSource);
+    }
+
+    @Test
+    void compareQueryLatency() {
+        for (String table : List.of(HEAP, PARTITIONED, HEAP, PARTITIONED)) {
+            long members = meanMicros(() -> jdbcTemplate.queryForList(
+                    "SELECT user_id, role FROM " + table + " WHERE organization_id = ?", randomOrganization()));
+            long role = meanMicros(() -> jdbcTemplate.queryForList(
+                    "SELECT role FROM " + table + " WHERE user_id = ? AND organization_id = ?",
+                    randomUser(), randomOrganization()));
+            long byUser = meanMicros(() -> jdbcTemplate.queryForList(
+                    "SELECT organization_id, role FROM " + table + " WHERE user_id = ?", randomUser()));
+            System.out.printf("%-18s members of org: %5d us, role check: %5d us, memberships of user: %5d us%n",
+                    table, members, role, byUser);
+        }
+    }
+
+    @Test
+    void compareVacuumTime() {
+        long heapMillis = vacuumAfterRoleChanges(HEAP, HEAP);
+        long partitionedMillis = vacuumAfterRoleChanges(PARTITIONED, PARTITIONED);
+        long onePartitionMillis = vacuumAfterRoleChanges(PARTITIONED, "user_organization_p00");
+
+        System.out.printf("VACUUM after updating 10%% of %d rows: unpartitioned %d ms, all partitions %d ms, "
+                + "one partition %d ms%n", memberships, heapMillis, partitionedMillis, onePartitionMillis);
+        assertTrue(onePartitionMillis < heapMillis);
+    }
+
+    /**
+     * Changes the role of every tenth membership in a table, then times VACUUM of the given target.
+     */
+    private long vacuumAfterRoleChanges(String table, String vacuumTarget) {
+        jdbcTemplate.update("UPDATE " + table + " SET role = CASE role WHEN 'MEMBER' THEN 'ADMIN' ELSE 'MEMBER' END, "
+                + "updated_at = now() WHERE id % 10 = 0");
+        long start = System.nanoTime();
+        jdbcTemplate.execute("VACUUM " + vacuumTarget);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long meanMicros(Runnable query) {
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            query.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / LOOKUPS / 1_000;
+    }
+
+    private UUID randomOrganization() {
+        return organizationIds.get(ThreadLocalRandom.current().nextInt(organizationIds.size()));
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, memberships + 1);
+    }
+}
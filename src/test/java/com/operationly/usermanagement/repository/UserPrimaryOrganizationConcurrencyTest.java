@@ -0,0 +1,156 @@
+package com.operationly.usermanagement.repository;
+
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Interleaves membership writes of one user on separate connections against PostgreSQL and checks
+ * that the trigger leaves user_primary_organization pointing at a membership that still exists.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class UserPrimaryOrganizationConcurrencyTest {
+
+    private static final String INSERT_MEMBERSHIP_SQL = """
+            INSERT INTO user_organization (user_id, organization_id, role, created_at, updated_at)
+            VALUES (?, ?, 'MEMBER', now(), now())""";
+    private static final String DELETE_MEMBERSHIP_SQL =
+            "DELETE FROM user_organization WHERE user_id = ? AND organization_id = ?";
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @BeforeAll
+    void setUp() throws Exception {
+        dataSource = LocalPostgres.createMigratedSchema("primary_org_race", 4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    void tearDown() {
+        executor.shutdownNow();
+        LocalPostgres.dropSchema(dataSource);
+    }
+
+    @Test
+    void removePrimary_WhileMembershipInserted_ShouldMovePrimaryToNewMembership() throws Exception {
+        // Arrange
+        long userId = createUser();
+        UUID first = createOrganization();
+        UUID second = createOrganization();
+        jdbcTemplate.update(INSERT_MEMBERSHIP_SQL, userId, first);
+
+        try (Connection inserting = dataSource.getConnection()) {
+            inserting.setAutoCommit(false);
+            execute(inserting, INSERT_MEMBERSHIP_SQL, userId, second);
+
+            // Act
+            Future<?> removal = executor.submit(() -> executeAndCommit(DELETE_MEMBERSHIP_SQL, userId, first));
+            awaitBlocked();
+            inserting.commit();
+            removal.get(10, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(List.of(second), primaryOrganizations(userId));
+    }
+
+    @Test
+    void removePrimary_WhileReplacementRemoved_ShouldSkipToNextMembership() throws Exception {
+        // Arrange
+        long userId = createUser();
+        UUID first = createOrganization();
+        UUID second = createOrganization();
+        UUID third = createOrganization();
+        for (UUID organizationId : List.of(first, second, third)) {
+            jdbcTemplate.update(INSERT_MEMBERSHIP_SQL, userId, organizationId);
+        }
+
+        try (Connection removing = dataSource.getConnection()) {
+            removing.setAutoCommit(false);
+            execute(removing, DELETE_MEMBERSHIP_SQL, userId, second);
+
+            // Act
+            Future<?> primaryRemoval = executor.submit(() -> executeAndCommit(DELETE_MEMBERSHIP_SQL, userId, first));
+            awaitBlocked();
+            removing.commit();
+            primaryRemoval.get(10, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(List.of(third), primaryOrganizations(userId));
+    }
+
+    private long createUser() {
+        String workosUserId = "user_" + UUID.randomUUID();
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO user_account (workos_user_id, email) VALUES (?, ?) RETURNING id",
+                Long.class, workosUserId, workosUserId + "@example.com");
+    }
+
+    private UUID createOrganization() {
+        UUID organizationId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO organization (organization_id, name, plan, status, created_at, updated_at)
+                VALUES (?, ?, 'FREE', 'ACTIVE', now(), now())""", organizationId, "Org " + organizationId);
+        return organizationId;
+    }
+
+    private List<UUID> primaryOrganizations(long userId) {
+        return jdbcTemplate.queryForList("SELECT organization_id FROM user_primary_organization WHERE user_id = ?",
+                UUID.class, userId);
+    }
+
+    private Void executeAndCommit(String sql, Object... args) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            execute(connection, sql, args);
+            connection.commit();
+        }
+        return null;
+    }
+
+    private static void execute(Connection connection, String sql, Object... args) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Waits until the second connection is blocked on a lock, so the first commits while it waits.
+     */
+    private void awaitBlocked() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject("""
+                    SELECT count(*) FROM pg_stat_activity
+                    WHERE datname = current_database() AND wait_event_type = 'Lock'""", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("The concurrent membership write never waited for the first one");
+    }
+}
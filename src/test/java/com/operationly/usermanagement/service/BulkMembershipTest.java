@@ -0,0 +1,137 @@
+package com.operationly.usermanagement.service;
+
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.dto.BulkMemberRemovalDto;
+import com.operationly.usermanagement.dto.BulkMembershipRequestDto;
+import com.operationly.usermanagement.dto.BulkMembershipResultDto;
+import com.operationly.usermanagement.dto.MembershipChangeDto;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.membership.MembersVersion;
+import com.operationly.usermanagement.membership.MembershipIndexManager;
+import com.operationly.usermanagement.repository.UserOrganizationRepository;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import com.operationly.usermanagement.service.impl.MembershipServiceImpl;
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.operationly.usermanagement.util.TimeOrderedUuid;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the set-based bulk membership statements against PostgreSQL, which the unnest and
+ * RETURNING clauses require.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class BulkMembershipTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MembershipServiceImpl membershipService;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        dataSource = LocalPostgres.createMigratedSchema("bulk_membership", 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        membershipService = new MembershipServiceImpl(mock(MembershipIndexManager.class),
+                mock(UserOrganizationRepository.class), jdbcTemplate, new MembersVersion(jdbcTemplate),
+                mock(AuditEventAppender.class), mock(ResponseCache.class));
+    }
+
+    @AfterAll
+    void tearDown() {
+        LocalPostgres.dropSchema(dataSource);
+    }
+
+    @Test
+    void bulkOperations_ShouldApplyAsSetsAndBumpVersionOncePerBatch() {
+        String orgId = createOrganization();
+        long admin = createUser("admin");
+        long first = createUser("first");
+        long second = createUser("second");
+
+        BulkMembershipResultDto added = inTransaction(() -> membershipService.addMembers(orgId, members(
+                member(admin, "ADMIN"), member(first, null), member(second, "MEMBER"), member(-1L, "MEMBER"))));
+        assertEquals(4, added.getRequested());
+        assertEquals(3, added.getApplied());
+        assertEquals(1, added.getMembersVersion());
+
+        BulkMembershipResultDto again = inTransaction(() -> membershipService.addMembers(orgId, members(
+                member(first, "ADMIN"))));
+        assertEquals(0, again.getApplied());
+        assertEquals(1, again.getMembersVersion());
+
+        BulkMembershipResultDto changed = inTransaction(() -> membershipService.changeMemberRoles(orgId, members(
+                member(first, "ADMIN"), member(second, "MEMBER"))));
+        assertEquals(1, changed.getApplied());
+        assertEquals(2, changed.getMembersVersion());
+        assertEquals("ADMIN", role(orgId, first));
+
+        BulkMembershipResultDto removed = inTransaction(() -> membershipService.removeMembers(orgId,
+                new BulkMemberRemovalDto(List.of(first, second))));
+        assertEquals(2, removed.getApplied());
+        assertEquals(3, removed.getMembersVersion());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_organization WHERE organization_id = ?", Integer.class, UUID.fromString(orgId)));
+    }
+
+    @Test
+    void removeMembers_WhenLastAdminWouldLeave_ShouldRollBack() {
+        String orgId = createOrganization();
+        long admin = createUser("only-admin");
+        long member = createUser("member");
+        inTransaction(() -> membershipService.addMembers(orgId, members(member(admin, "ADMIN"), member(member, "MEMBER"))));
+
+        assertThrows(BusinessException.class, () -> inTransaction(() ->
+                membershipService.removeMembers(orgId, new BulkMemberRemovalDto(List.of(admin)))));
+
+        assertEquals("ADMIN", role(orgId, admin));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT members_version FROM organization WHERE organization_id = ?", Long.class, UUID.fromString(orgId)));
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    private String createOrganization() {
+        UUID organizationId = TimeOrderedUuid.next();
+        jdbcTemplate.update("INSERT INTO organization (organization_id, name, plan, status, created_at, updated_at) "
+                + "VALUES (?, 'Bulk', 'FREE', 'ACTIVE', now(), now())", organizationId);
+        return organizationId.toString();
+    }
+
+    private long createUser(String name) {
+        String workosUserId = "user_bulk_" + name + "_" + UUID.randomUUID();
+        return jdbcTemplate.queryForObject("INSERT INTO user_account (workos_user_id, email) VALUES (?, ?) RETURNING id",
+                Long.class, workosUserId, name + "@example.com");
+    }
+
+    private String role(String orgId, long userId) {
+        return jdbcTemplate.queryForObject("SELECT role FROM user_organization WHERE organization_id = ? AND user_id = ?",
+                String.class, UUID.fromString(orgId), userId);
+    }
+
+    private static BulkMembershipRequestDto members(MembershipChangeDto... members) {
+        return new BulkMembershipRequestDto(List.of(members));
+    }
+
+    private static MembershipChangeDto member(long userId, String role) {
+        return new MembershipChangeDto(userId, role);
+    }
+}
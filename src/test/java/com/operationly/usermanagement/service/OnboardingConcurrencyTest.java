@@ -0,0 +1,105 @@
+package com.operationly.usermanagement.service;
+
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.config.DataSourceRoutingProperties;
+import com.operationly.usermanagement.datasource.ReadYourWritesTracker;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.membership.MembershipIndexManager;
+import com.operationly.usermanagement.repository.OrganizationRepository;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import com.operationly.usermanagement.service.impl.OrganizationServiceImpl;
+import com.operationly.usermanagement.support.LocalPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Fires concurrent onboarding requests for one user against PostgreSQL and checks that exactly
+ * one organization and one membership come out of it.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = LocalPostgres.URL_ENV, matches = ".+")
+class OnboardingConcurrencyTest {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+    private static final String WORKOS_USER_ID = "user_onboarding_race";
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private OrganizationServiceImpl organizationService;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        dataSource = LocalPostgres.createMigratedSchema("onboarding_race", CONCURRENT_REQUESTS);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        organizationService = new OrganizationServiceImpl(mock(OrganizationRepository.class),
+                new ReadYourWritesTracker(new DataSourceRoutingProperties()), jdbcTemplate,
+                mock(MembershipIndexManager.class), mock(AuditEventAppender.class), mock(ResponseCache.class));
+
+        jdbcTemplate.update("INSERT INTO user_account (workos_user_id, email) VALUES (?, ?)",
+                WORKOS_USER_ID, "race@example.com");
+    }
+
+    @AfterAll
+    void tearDown() {
+        LocalPostgres.dropSchema(dataSource);
+    }
+
+    @Test
+    void createOrganizationAndAttachToUser_ShouldCreateExactlyOneOrganizationUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String name = "Org " + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                organizationService.createOrganizationAndAttachToUser(WORKOS_USER_ID, name));
+                        return true;
+                    } catch (BusinessException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM organization", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_organization WHERE role = 'ADMIN'", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject(
+                "SELECT onboarding_completed FROM user_account WHERE workos_user_id = ?", Boolean.class, WORKOS_USER_ID));
+    }
+}
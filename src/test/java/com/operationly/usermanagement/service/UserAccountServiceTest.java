@@ -1,5 +1,8 @@
 package com.operationly.usermanagement.service;
 
+import com.operationly.usermanagement.audit.AuditEventAppender;
+import com.operationly.usermanagement.audit.AuditEventType;
+import com.operationly.usermanagement.datasource.ReadYourWritesTracker;
 import com.operationly.usermanagement.dto.UserAccountDto;
 import com.operationly.usermanagement.entity.Organization;
 import com.operationly.usermanagement.entity.UserAccount;
@@ -7,20 +10,30 @@ import com.operationly.usermanagement.entity.UserOrganization;
 import com.operationly.usermanagement.entity.Plan;
 import com.operationly.usermanagement.entity.Role;
 import com.operationly.usermanagement.entity.Status;
+import com.operationly.usermanagement.exception.BusinessException;
+import com.operationly.usermanagement.lookup.KnownUserGuard;
+import com.operationly.usermanagement.membership.MembershipIndexManager;
 import com.operationly.usermanagement.repository.OrganizationRepository;
 import com.operationly.usermanagement.repository.UserAccountRepository;
 import com.operationly.usermanagement.repository.UserOrganizationRepository;
+import com.operationly.usermanagement.repository.projection.UserAccountView;
+import com.operationly.usermanagement.responsecache.ResponseCache;
 import com.operationly.usermanagement.service.impl.UserAccountServiceImpl;
+import com.operationly.usermanagement.writebehind.LastSignInBuffer;
 import com.workos.usermanagement.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 
-import java.util.Collections;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -43,6 +56,27 @@ class UserAccountServiceTest {
     @Mock
     private WorkOSService workOSService;
 
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Mock
+    private LastSignInBuffer lastSignInBuffer;
+
+    @Mock
+    private MembershipIndexManager membershipIndexManager;
+
+    @Mock
+    private AuditEventAppender auditEventAppender;
+
+    @Mock
+    private KnownUserGuard knownUserGuard;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserAccountServiceImpl userAccountService;
 
@@ -54,7 +88,7 @@ class UserAccountServiceTest {
 
     @BeforeEach
     void setUp() {
-        workosUser = mock(User.class);
+        workosUser = mock(User.class, withSettings().strictness(Strictness.LENIENT));
         when(workosUser.getEmail()).thenReturn(EMAIL);
         when(workosUser.getFirstName()).thenReturn(FIRST_NAME);
         when(workosUser.getLastName()).thenReturn(LAST_NAME);
@@ -106,6 +140,102 @@ class UserAccountServiceTest {
         verify(userAccountRepository).save(existingUser);
     }
 
+    @Test
+    void syncUserAccount_ShouldPinSubsequentReadsToPrimary() {
+        when(workOSService.getWorkOsUserById(WORKOS_USER_ID)).thenReturn(workosUser);
+
+        UserAccount existingUser = UserAccount.builder()
+                .id(1L)
+                .workosUserId(WORKOS_USER_ID)
+                .email(EMAIL)
+                .build();
+
+        when(userAccountRepository.findByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(existingUser));
+        when(userAccountRepository.save(any(UserAccount.class))).thenReturn(existingUser);
+
+        userAccountService.syncUserAccount(WORKOS_USER_ID, null);
+
+        verify(readYourWritesTracker).recordWrite(WORKOS_USER_ID);
+    }
+
+    @Test
+    void syncUserAccount_UnchangedProfile_ShouldSkipWrite() {
+        when(workOSService.getWorkOsUserById(WORKOS_USER_ID)).thenReturn(workosUser);
+
+        UserAccount existingUser = UserAccount.builder()
+                .id(1L)
+                .workosUserId(WORKOS_USER_ID)
+                .email(EMAIL)
+                .firstName(FIRST_NAME)
+                .lastName(LAST_NAME)
+                .emailVerified(true)
+                .profilePictureUrl("http://pic.url")
+                .build();
+
+        when(userAccountRepository.findByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(existingUser));
+
+        UserAccountDto result = userAccountService.syncUserAccount(WORKOS_USER_ID, null);
+
+        assertEquals(EMAIL, result.getEmail());
+        verify(userAccountRepository, never()).save(any(UserAccount.class));
+        verify(readYourWritesTracker, never()).recordWrite(any());
+        verifyNoInteractions(auditEventAppender);
+        assertEquals(1.0, meterRegistry.counter("user.sync.writes", "outcome", "skipped").count());
+        assertEquals(0.0, meterRegistry.counter("user.sync.writes", "outcome", "applied").count());
+    }
+
+    @Test
+    void syncUserAccount_NewerSignIn_ShouldBufferInsteadOfUpdatingRow() {
+        when(workOSService.getWorkOsUserById(WORKOS_USER_ID)).thenReturn(workosUser);
+        when(workosUser.getLastSignInAt()).thenReturn("2026-03-01T10:15:30.123Z");
+
+        UserAccount existingUser = UserAccount.builder()
+                .id(1L)
+                .workosUserId(WORKOS_USER_ID)
+                .email(EMAIL)
+                .firstName(FIRST_NAME)
+                .lastName(LAST_NAME)
+                .emailVerified(true)
+                .profilePictureUrl("http://pic.url")
+                .lastSignInAt(LocalDateTime.of(2026, 2, 1, 0, 0))
+                .build();
+
+        when(userAccountRepository.findByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(existingUser));
+
+        UserAccountDto result = userAccountService.syncUserAccount(WORKOS_USER_ID, null);
+
+        LocalDateTime expected = LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_000_000);
+        verify(lastSignInBuffer).record(1L, WORKOS_USER_ID, expected);
+        verify(userAccountRepository, never()).save(any(UserAccount.class));
+        assertEquals(LocalDateTime.of(2026, 2, 1, 0, 0), existingUser.getLastSignInAt());
+        assertEquals(expected.toString(), result.getLastSignInAt());
+    }
+
+    @Test
+    void syncUserAccount_ChangedProfile_ShouldCountAppliedWrite() {
+        when(workOSService.getWorkOsUserById(WORKOS_USER_ID)).thenReturn(workosUser);
+
+        UserAccount existingUser = UserAccount.builder()
+                .id(1L)
+                .workosUserId(WORKOS_USER_ID)
+                .email(EMAIL)
+                .firstName("Old")
+                .lastName(LAST_NAME)
+                .emailVerified(true)
+                .profilePictureUrl("http://pic.url")
+                .build();
+
+        when(userAccountRepository.findByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(existingUser));
+        when(userAccountRepository.save(existingUser)).thenReturn(existingUser);
+
+        userAccountService.syncUserAccount(WORKOS_USER_ID, null);
+
+        assertEquals(FIRST_NAME, existingUser.getFirstName());
+        assertEquals(1.0, meterRegistry.counter("user.sync.writes", "outcome", "applied").count());
+        verify(auditEventAppender).record(eq(AuditEventType.PROFILE_UPDATED), isNull(), eq(1L), eq(WORKOS_USER_ID),
+                isNull(), eq(Map.of("firstName", Map.of("from", "Old", "to", FIRST_NAME))));
+    }
+
     @Test
     void syncUserAccount_ExistingUser_ShouldUpdateOrganizationIfNull() {
         when(workOSService.getWorkOsUserById(WORKOS_USER_ID)).thenReturn(workosUser);
@@ -126,12 +256,14 @@ class UserAccountServiceTest {
 
         when(userAccountRepository.findByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(existingUser));
         when(userAccountRepository.save(any(UserAccount.class))).thenReturn(existingUser);
-        when(userOrganizationRepository.findByUser(existingUser)).thenReturn(Collections.emptyList());
+        when(userOrganizationRepository.findPrimaryOrganizationId(1L)).thenReturn(Optional.empty(), Optional.of(orgId));
         when(organizationRepository.findByOrganizationId(orgId)).thenReturn(Optional.of(mockOrg));
 
         userAccountService.syncUserAccount(WORKOS_USER_ID, orgId);
 
         verify(userOrganizationRepository).save(any(UserOrganization.class));
+        verify(membershipIndexManager).recordMembership(1L, orgId, Role.MEMBER);
+        verify(auditEventAppender).record(AuditEventType.MEMBERSHIP_ADDED, orgId, 1L, WORKOS_USER_ID, Role.MEMBER, null);
     }
 
     @Test
@@ -153,18 +285,57 @@ class UserAccountServiceTest {
                 .status(Status.ACTIVE)
                 .build();
 
-        UserOrganization existingUserOrg = UserOrganization.builder()
-                .user(existingUser)
-                .organization(oldOrg)
-                .role(Role.MEMBER)
-                .build();
-
         when(userAccountRepository.findByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(existingUser));
         when(userAccountRepository.save(any(UserAccount.class))).thenReturn(existingUser);
-        when(userOrganizationRepository.findByUser(existingUser)).thenReturn(List.of(existingUserOrg));
+        when(userOrganizationRepository.findPrimaryOrganizationId(1L)).thenReturn(Optional.of(oldOrgId));
+        when(organizationRepository.findByOrganizationId(oldOrgId)).thenReturn(Optional.of(oldOrg));
 
         userAccountService.syncUserAccount(WORKOS_USER_ID, newOrgId);
 
         verify(userOrganizationRepository, never()).save(any(UserOrganization.class));
     }
+
+    @Test
+    void getUserInfo_ShouldBuildDtoFromProjection() {
+        UUID orgId = UUID.randomUUID();
+        UserAccountView view = mock(UserAccountView.class);
+        when(view.getId()).thenReturn(1L);
+        when(view.getWorkosUserId()).thenReturn(WORKOS_USER_ID);
+        when(view.getEmail()).thenReturn(EMAIL);
+        when(view.getRole()).thenReturn(Role.ADMIN);
+        when(view.getOrganizationId()).thenReturn(orgId);
+        when(view.getOrganizationName()).thenReturn("Test Org");
+        when(view.getOrganizationPlan()).thenReturn(Plan.FREE);
+        when(view.getOrganizationStatus()).thenReturn(Status.ACTIVE);
+
+        when(userAccountRepository.findAccountViewByWorkosUserId(WORKOS_USER_ID)).thenReturn(Optional.of(view));
+
+        UserAccountDto result = userAccountService.getUserInfo(WORKOS_USER_ID);
+
+        assertEquals(EMAIL, result.getEmail());
+        assertEquals("ADMIN", result.getRole());
+        assertEquals(orgId.toString(), result.getOrganization().getOrganizationId());
+        assertEquals("FREE", result.getOrganization().getPlan());
+        verify(userAccountRepository, never()).findByWorkosUserId(any());
+        verifyNoInteractions(userOrganizationRepository);
+    }
+
+    @Test
+    void getUserInfo_KnownMissingUser_ShouldFailWithoutQuery() {
+        when(knownUserGuard.isKnownMissing("garbage")).thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> userAccountService.getUserInfo("garbage"));
+        assertNull(userAccountService.getUserAccountByWorkosUserId("garbage"));
+
+        verifyNoInteractions(userAccountRepository);
+    }
+
+    @Test
+    void getUserAccountByWorkosUserId_Miss_ShouldRememberMissingUser() {
+        when(userAccountRepository.findContextViewByWorkosUserId("unknown")).thenReturn(Optional.empty());
+
+        assertNull(userAccountService.getUserAccountByWorkosUserId("unknown"));
+
+        verify(knownUserGuard).recordMissing("unknown");
+    }
 }
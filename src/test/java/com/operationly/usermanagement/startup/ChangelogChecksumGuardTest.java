@@ -0,0 +1,108 @@
+package com.operationly.usermanagement.startup;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class ChangelogChecksumGuardTest {
+
+    private static final String CHANGE_LOG = "classpath:liquibase/master_user_management.xml";
+
+    private final ChangelogChecksumGuard guard = new ChangelogChecksumGuard();
+    private final SpringLiquibase liquibase = mock(SpringLiquibase.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(liquibase.getChangeLog()).thenReturn(CHANGE_LOG);
+        when(liquibase.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+    }
+
+    @Test
+    void checksum_ShouldBeStableHexSha256() {
+        String checksum = ChangelogChecksumGuard.checksum(CHANGE_LOG);
+
+        assertEquals(64, checksum.length());
+        assertEquals(checksum, ChangelogChecksumGuard.checksum(CHANGE_LOG));
+    }
+
+    @Test
+    void matchingChecksum_ShouldSkipLiquibase() throws SQLException {
+        // Arrange
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn(ChangelogChecksumGuard.checksum(CHANGE_LOG));
+
+        // Act
+        guard.postProcessBeforeInitialization(liquibase, "liquibase");
+        guard.postProcessAfterInitialization(liquibase, "liquibase");
+
+        // Assert
+        verify(liquibase).setShouldRun(false);
+        verify(statement, never()).executeUpdate();
+    }
+
+    @Test
+    void changedChecksum_ShouldRunLiquibaseAndRecordChecksum() throws SQLException {
+        // Arrange
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("stale");
+        when(statement.executeUpdate()).thenReturn(1);
+
+        // Act
+        guard.postProcessBeforeInitialization(liquibase, "liquibase");
+        guard.postProcessAfterInitialization(liquibase, "liquibase");
+
+        // Assert
+        verify(liquibase, never()).setShouldRun(false);
+        verify(liquibase.getDataSource().getConnection()).prepareStatement(startsWith("UPDATE changelog_checksum"));
+        verify(statement).setString(1, ChangelogChecksumGuard.checksum(CHANGE_LOG));
+    }
+
+    @Test
+    void secondBoot_ShouldSkipLiquibaseWithChecksumRecordedByFirst() throws SQLException {
+        // Arrange: nothing recorded yet, so the first boot updates no row and inserts one
+        when(resultSet.next()).thenReturn(false);
+        when(statement.executeUpdate()).thenReturn(0, 1);
+
+        // Act: first boot
+        guard.postProcessBeforeInitialization(liquibase, "liquibase");
+        guard.postProcessAfterInitialization(liquibase, "liquibase");
+
+        // Assert: Liquibase ran and the checksum was inserted as the second parameter
+        verify(liquibase, never()).setShouldRun(false);
+        verify(liquibase.getDataSource().getConnection()).prepareStatement(startsWith("INSERT INTO changelog_checksum"));
+        ArgumentCaptor<String> recorded = ArgumentCaptor.forClass(String.class);
+        verify(statement, atLeastOnce()).setString(eq(2), recorded.capture());
+
+        // Act: second boot reads back what the first recorded
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn(recorded.getValue());
+        new ChangelogChecksumGuard().postProcessBeforeInitialization(liquibase, "liquibase");
+
+        // Assert
+        verify(liquibase).setShouldRun(false);
+    }
+}
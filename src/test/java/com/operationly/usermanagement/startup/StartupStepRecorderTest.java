@@ -0,0 +1,38 @@
+package com.operationly.usermanagement.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupStepRecorderTest {
+
+    @Test
+    void initialize_WhenRecordStepsIsSet_ShouldBufferStartupSteps() {
+        GenericApplicationContext context = context(new MockEnvironment()
+                .withProperty(StartupStepRecorder.RECORD_STEPS_PROPERTY, "true"));
+
+        new StartupStepRecorder().initialize(context);
+
+        assertInstanceOf(BufferingApplicationStartup.class, context.getApplicationStartup());
+        assertInstanceOf(BufferingApplicationStartup.class, context.getBeanFactory().getApplicationStartup());
+    }
+
+    @Test
+    void initialize_WhenRecordStepsIsUnset_ShouldKeepDefaultStartup() {
+        GenericApplicationContext context = context(new MockEnvironment());
+
+        new StartupStepRecorder().initialize(context);
+
+        assertSame(ApplicationStartup.DEFAULT, context.getApplicationStartup());
+    }
+
+    private static GenericApplicationContext context(MockEnvironment environment) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setEnvironment(environment);
+        return context;
+    }
+}
@@ -0,0 +1,93 @@
+package com.operationly.usermanagement.support;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.NoArgsConstructor;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Access to a local PostgreSQL for tests that need real planner or locking behaviour.
+ * Tests using it are enabled only when {@value #URL_ENV} is set, e.g.
+ * {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/operationly}.
+ * Each test class migrates its own throwaway schema so runs never touch application data.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class LocalPostgres {
+
+    public static final String URL_ENV = "TEST_POSTGRES_URL";
+    private static final String USER_ENV = "TEST_POSTGRES_USER";
+    private static final String PASSWORD_ENV = "TEST_POSTGRES_PASSWORD";
+    private static final String CHANGE_LOG = "classpath:liquibase/master_user_management.xml";
+
+    /**
+     * Creates a fresh schema, applies the Liquibase changelog to it and returns a pool bound to it.
+     *
+     * @param prefix Schema name prefix, for telling test runs apart
+     * @param poolSize Maximum pool size
+     * @return Data source whose connections use the new schema
+     */
+    public static HikariDataSource createMigratedSchema(String prefix, int poolSize) throws Exception {
+        String schema = prefix + "_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getenv(URL_ENV));
+        config.setUsername(envOrDefault(USER_ENV, "postgres"));
+        config.setPassword(envOrDefault(PASSWORD_ENV, "root"));
+        config.setMaximumPoolSize(poolSize);
+        config.setPoolName(schema);
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        new JdbcTemplate(dataSource).execute("CREATE SCHEMA " + schema);
+        dataSource.close();
+
+        config.setSchema(schema);
+        dataSource = new HikariDataSource(config);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(CHANGE_LOG);
+        liquibase.setDefaultSchema(schema);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        return dataSource;
+    }
+
+    /**
+     * Returns a pool on the database's default schema, for tests that share data with a running
+     * instance of the service.
+     *
+     * @param poolSize Maximum pool size
+     * @return Data source on the default schema
+     */
+    public static HikariDataSource connect(int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getenv(URL_ENV));
+        config.setUsername(envOrDefault(USER_ENV, "postgres"));
+        config.setPassword(envOrDefault(PASSWORD_ENV, "root"));
+        config.setMaximumPoolSize(poolSize);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Drops the schema created by {@link #createMigratedSchema} and closes the pool.
+     *
+     * @param dataSource Data source returned by {@link #createMigratedSchema}
+     */
+    public static void dropSchema(HikariDataSource dataSource) {
+        if (dataSource == null) {
+            return;
+        }
+        new JdbcTemplate(dataSource).execute("DROP SCHEMA IF EXISTS " + dataSource.getSchema() + " CASCADE");
+        dataSource.close();
+    }
+
+    private static String envOrDefault(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+}
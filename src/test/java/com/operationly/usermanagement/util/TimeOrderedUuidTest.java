@@ -0,0 +1,78 @@
+package com.operationly.usermanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void next_ShouldSetVersionAndVariant() {
+        UUID uuid = TimeOrderedUuid.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void next_ShouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuid.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = TimeOrderedUuid.timestampMillis(uuid);
+        assertTrue(timestamp >= before, "timestamp should not precede generation");
+        // Bursts from other tests may carry the counter a few milliseconds ahead of the clock
+        assertTrue(timestamp <= after + 1_000, "timestamp should not run far ahead of the clock");
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasingWithinBurst() {
+        UUID previous = TimeOrderedUuid.next();
+        for (int i = 0; i < 20_000; i++) {
+            UUID current = TimeOrderedUuid.next();
+            assertTrue(previous.compareTo(current) < 0, "expected " + previous + " < " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_ShouldBeUniqueUnderConcurrentCreates() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(TimeOrderedUuid.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void timestampMillis_ShouldRejectRandomUuids() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.timestampMillis(UUID.randomUUID()));
+    }
+}
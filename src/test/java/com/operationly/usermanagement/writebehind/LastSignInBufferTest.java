@@ -0,0 +1,184 @@
+package com.operationly.usermanagement.writebehind;
+
+import com.operationly.usermanagement.config.LastSignInBufferProperties;
+import com.operationly.usermanagement.responsecache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastSignInBufferTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2026, 1, 1, 9, 0);
+    private static final LocalDateTime LATER = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TaskExecutor flushExecutor;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    private LastSignInBufferProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LastSignInBufferProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void flush_ShouldWriteLatestTimestampPerUserInOneStatement() {
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+        buffer.record(1L, "user_1", LATER);
+        buffer.record(1L, "user_1", EARLIER);
+        buffer.record(2L, "user_2", EARLIER);
+
+        buffer.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().contains("FROM (VALUES (?::bigint, ?::timestamp), (?::bigint, ?::timestamp))"));
+        List<Object> values = List.of(args.getValue());
+        assertEquals(Timestamp.valueOf(LATER), values.get(values.indexOf(1L) + 1));
+        assertEquals(Timestamp.valueOf(EARLIER), values.get(values.indexOf(2L) + 1));
+        assertEquals(0.0, meterRegistry.get("user.last_sign_in.pending").gauge().value());
+    }
+
+    @Test
+    void flush_ShouldSplitIntoBatches() {
+        properties.setBatchSize(2);
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+        for (long userId = 1; userId <= 5; userId++) {
+            buffer.record(userId, "user_" + userId, LATER);
+        }
+
+        buffer.flush();
+
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+        assertEquals(5.0, meterRegistry.get("user.last_sign_in.flushed").counter().count());
+    }
+
+    @Test
+    void record_WhenFull_ShouldDropNewUserAndFlushInBackground() {
+        properties.setMaxPendingUsers(2);
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+        buffer.record(1L, "user_1", LATER);
+        buffer.record(2L, "user_2", LATER);
+
+        buffer.record(3L, "user_3", LATER);
+        buffer.record(4L, "user_4", LATER);
+        buffer.record(1L, "user_1", EARLIER);
+
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(2.0, meterRegistry.get("user.last_sign_in.dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("user.last_sign_in.pending").gauge().value());
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(flushExecutor, times(1)).execute(flush.capture());
+        flush.getValue().run();
+
+        verify(jdbcTemplate).update(anyString(), any(Object[].class));
+        assertEquals(1.0, meterRegistry.get("user.last_sign_in.backpressure").counter().count());
+        assertEquals(0.0, meterRegistry.get("user.last_sign_in.pending").gauge().value());
+    }
+
+    @Test
+    void record_WhenTransactionRollsBack_ShouldNotBufferSignIn() {
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.record(1L, "user_1", LATER);
+            assertEquals(0.0, meterRegistry.get("user.last_sign_in.pending").gauge().value());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        buffer.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void record_WhenTransactionCommits_ShouldBufferSignIn() {
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.record(1L, "user_1", LATER);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        buffer.flush();
+
+        verify(jdbcTemplate).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void flush_WhenUpdateFails_ShouldKeepEntriesForNextFlush() {
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+        buffer.record(1L, "user_1", LATER);
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        buffer.flush();
+        assertEquals(1.0, meterRegistry.get("user.last_sign_in.pending").gauge().value());
+        verifyNoInteractions(responseCache);
+
+        buffer.flush();
+        assertEquals(0.0, meterRegistry.get("user.last_sign_in.pending").gauge().value());
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void flush_ShouldInvalidateCachedResponsesOfWrittenUsers() {
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+        buffer.record(1L, "user_1", LATER);
+
+        verifyNoInteractions(responseCache);
+        buffer.flush();
+
+        verify(responseCache).invalidateAfterCommit(ResponseCache.userKey("user_1"));
+    }
+
+    @Test
+    void flush_ShouldWriteEachBatchInUserIdOrder() {
+        LastSignInBuffer buffer = new LastSignInBuffer(jdbcTemplate, properties, flushExecutor, responseCache, meterRegistry);
+        for (long userId : new long[]{42L, 7L, 1_000_003L, 19L}) {
+            buffer.record(userId, "user_" + userId, LATER);
+        }
+
+        buffer.flush();
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        List<Object> values = List.of(args.getValue());
+        assertEquals(List.of(7L, 19L, 42L, 1_000_003L),
+                List.of(values.get(0), values.get(2), values.get(4), values.get(6)));
+    }
+}